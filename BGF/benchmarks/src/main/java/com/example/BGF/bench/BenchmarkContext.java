@@ -0,0 +1,100 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.BgfApplication;
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.example.BGF.models.Review;
+import com.example.BGF.models.User;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the real application against an in-memory H2 database (MySQL mode)
+// so the repository-backed benchmarks never need a running MySQL.
+public final class BenchmarkContext {
+
+    public static final String[] CATEGORIES = {"cricket", "football", "indoor-games", "gym", "tennis"};
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String dbName) {
+        // Passed as command-line arguments so they override application.properties
+        return new SpringApplicationBuilder(BgfApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + dbName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--bgf.products.full-text-search=false",
+                        "--bgf.images.dir=" + System.getProperty("java.io.tmpdir") + "/bgf-images-bench",
+                        "--spring.jpa.show-sql=false",
+                        // Each benchmark warms up under JMH; the app's own warm-up would only add setup time
+                        "--bgf.warmup.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    public static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("not-a-real-hash");
+        user.setEmail(username + "@bench.local");
+        user.setFullName("Bench " + username);
+        user.setRole("USER");
+        return user;
+    }
+
+    public static Product product(long i) {
+        Product product = new Product();
+        product.setName("Product " + i + " " + CATEGORIES[(int) (i % CATEGORIES.length)] + " pro");
+        product.setDescription("Synthetic product number " + i + " used by the benchmarks.");
+        product.setPrice(100.0 + (i * 37 % 10_000));
+        product.setStock((int) (i % 50));
+        product.setCategory(CATEGORIES[(int) (i % CATEGORIES.length)]);
+        product.setImageUrl("https://img.example.com/" + i + ".png");
+        return product;
+    }
+
+    public static Review review(User user, Product product, int i) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setProduct(product);
+        review.setRating(1 + i % 5);
+        review.setComment("Review " + i + " for " + product.getName());
+        return review;
+    }
+
+    // Detached object graphs for the serialization benchmarks.
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = product(i);
+            product.setId((long) i + 1);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static List<Order> orders(int count) {
+        User user = user("serializer");
+        user.setId(1L);
+        List<Product> products = products(Math.max(1, count / 4));
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = products.get(i % products.size());
+            Order order = new Order();
+            order.setUser(user);
+            order.setProduct(product);
+            order.setQuantity(1 + i % 3);
+            order.setPrice(product.getPrice());
+            order.setTotalAmount(product.getPrice() * order.getQuantity());
+            order.setShippingAddress("No. " + i + ", Main Street, Colombo");
+            order.setPaymentMethod("CARD");
+            orders.add(order);
+        }
+        return orders;
+    }
+}
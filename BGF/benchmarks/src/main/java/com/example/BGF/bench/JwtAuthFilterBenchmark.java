@@ -0,0 +1,70 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.security.JwtAuthFilter;
+import com.example.BGF.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthFilter filter;
+    private String validHeader;
+    private String invalidHeader;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start("jwtfilter");
+        context.getBean(UserRepository.class).save(BenchmarkContext.user("filter-user"));
+        filter = context.getBean(JwtAuthFilter.class);
+        validHeader = "Bearer " + context.getBean(JwtUtil.class).generateToken("filter-user", "USER");
+        invalidHeader = "Bearer not.a.valid-token";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        return run(validHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidToken() throws Exception {
+        return run(invalidHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousRequest() throws Exception {
+        return run(null);
+    }
+
+    private MockHttpServletResponse run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
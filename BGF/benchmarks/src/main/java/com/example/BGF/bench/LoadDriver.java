@@ -0,0 +1,340 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.BgfApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load driver. By default it boots the application in-process
+ * with the {@code loadtest} profile (embedded H2, synthetic data) on a random
+ * local port, so a run needs nothing but this JVM and the loopback interface.
+ *
+ * <pre>
+ * mvn -B -f benchmarks/pom.xml package exec:exec@loadtest -Dloadtest.args="threads=32 duration=60"
+ * </pre>
+ *
+ * Options ({@code key=value}, optionally prefixed with {@code --}): threads, duration and warmup (seconds),
+ * users/products/orders/reviews (seed sizes), mix (e.g. {@code browse=40,search=20,...})
+ * and baseUrl to drive an already running instance instead.
+ * Per-endpoint throughput and p50/p99/p999 latency go to stdout and target/loadtest-result.json.
+ */
+public class LoadDriver {
+
+    private static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_MIX.put("browse", 35);
+        DEFAULT_MIX.put("search", 20);
+        DEFAULT_MIX.put("product", 25);
+        DEFAULT_MIX.put("login", 8);
+        DEFAULT_MIX.put("checkout", 8);
+        DEFAULT_MIX.put("admin", 4);
+    }
+
+    private static final String[] SEARCH_TERMS = {"pro", "bat", "ball", "elite", "gloves", "mat", "12", "junior"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final int users;
+    private final int products;
+    private final String password;
+    private final String[] scenarioTable;
+    private final Map<String, Long> errors = new TreeMap<>();
+    private volatile boolean recording;
+
+    LoadDriver(String baseUrl, int users, int products, String password, Map<String, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.products = products;
+        this.password = password;
+        List<String> table = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) table.add(scenario);
+        });
+        this.scenarioTable = table.toArray(new String[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        int products = Integer.parseInt(options.getOrDefault("products", "2000"));
+        String password = options.getOrDefault("password", "password");
+        Map<String, Integer> mix = options.containsKey("mix") ? parseMix(options.get("mix")) : DEFAULT_MIX;
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("baseUrl");
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(BgfApplication.class)
+                    .profiles("loadtest")
+                    .run("--server.port=0",
+                            "--server.address=127.0.0.1",
+                            "--loadtest.seed.users=" + users,
+                            "--loadtest.seed.products=" + products,
+                            "--loadtest.seed.orders=" + options.getOrDefault("orders", "20000"),
+                            "--loadtest.seed.reviews=" + options.getOrDefault("reviews", "20000"),
+                            "--loadtest.seed.password=" + password,
+                            "--bgf.warmup.enabled=false", // the driver has its own warm-up phase
+                            "--logging.level.root=WARN");
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            LoadDriver driver = new LoadDriver(baseUrl, users, products, password, mix);
+            Map<String, long[]> latencies = driver.run(threads, warmup, duration);
+            driver.report(latencies, duration, System.out);
+            driver.writeJson(latencies, duration, Path.of("target", "loadtest-result.json"));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    Map<String, long[]> run(int threads, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> running = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(i);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + i);
+            running.add(thread);
+            thread.start();
+        }
+        Thread.sleep(warmupSeconds * 1000L);
+        recording = true;
+        Thread.sleep(durationSeconds * 1000L);
+        recording = false;
+        workers.forEach(worker -> worker.stopped = true);
+        for (Thread thread : running) {
+            thread.join();
+        }
+
+        Map<String, long[]> merged = new TreeMap<>();
+        for (Worker worker : workers) {
+            worker.samples.forEach((endpoint, samples) ->
+                    merged.merge(endpoint, samples.toArray(), LoadDriver::concat));
+            worker.errors.forEach((endpoint, count) -> errors.merge(endpoint, count, Long::sum));
+        }
+        merged.values().forEach(Arrays::sort);
+        return merged;
+    }
+
+    void report(Map<String, long[]> latencies, int durationSeconds, PrintStream out) {
+        out.printf("%-34s %10s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        long total = 0;
+        for (Map.Entry<String, long[]> entry : latencies.entrySet()) {
+            long[] samples = entry.getValue();
+            total += samples.length;
+            out.printf("%-34s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    entry.getKey(), samples.length, samples.length / (double) durationSeconds,
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                    millis(percentile(samples, 0.999)), millis(samples[samples.length - 1]),
+                    errors.getOrDefault(entry.getKey(), 0L));
+        }
+        out.printf("%-34s %10d %10.1f%n", "TOTAL", total, total / (double) durationSeconds);
+        errors.forEach((key, count) -> {
+            if (!latencies.containsKey(key)) out.printf("%-34s %8d failed iterations%n", key, count);
+        });
+    }
+
+    void writeJson(Map<String, long[]> latencies, int durationSeconds, Path file) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : latencies.entrySet()) {
+            long[] samples = entry.getValue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", samples.length);
+            stats.put("throughput", samples.length / (double) durationSeconds);
+            stats.put("p50Ms", millis(percentile(samples, 0.50)));
+            stats.put("p99Ms", millis(percentile(samples, 0.99)));
+            stats.put("p999Ms", millis(percentile(samples, 0.999)));
+            stats.put("maxMs", millis(samples[samples.length - 1]));
+            stats.put("errors", errors.getOrDefault(entry.getKey(), 0L));
+            result.put(entry.getKey(), stats);
+        }
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+    }
+
+    private class Worker implements Runnable {
+        private final int id;
+        private final Map<String, LongList> samples = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+        private volatile boolean stopped;
+        private String token;
+        private long userId;
+        private String adminToken;
+
+        Worker(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            try {
+                JsonNode login = login("user" + (id % users));
+                token = login.path("token").asText();
+                userId = login.path("user").path("id").asLong();
+                adminToken = login("admin").path("token").asText();
+            } catch (Exception e) {
+                System.err.println("Worker " + id + " could not log in: " + e.getMessage());
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!stopped) {
+                String scenario = scenarioTable[random.nextInt(scenarioTable.length)];
+                try {
+                    switch (scenario) {
+                        case "browse" -> call("GET /products/all", get("/products/all", null));
+                        case "search" -> call("GET /products/search",
+                                get("/products/search?name=" + encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]), null));
+                        case "product" -> {
+                            long productId = 1 + random.nextInt(products);
+                            call("GET /products/{id}", get("/products/" + productId, null));
+                            call("GET /review/product/{id}", get("/review/product/" + productId, null));
+                            call("GET /review/product/{id}/average", get("/review/product/" + productId + "/average", null));
+                        }
+                        case "login" -> call("POST /auth/login", loginRequest("user" + random.nextInt(users)));
+                        case "checkout" -> call("POST /api/orders", post("/api/orders", token, Map.of(
+                                "userId", userId,
+                                "productId", 1 + random.nextInt(products),
+                                "quantity", 1 + random.nextInt(3),
+                                "shippingAddress", "No. " + id + ", Main Street, Colombo",
+                                "paymentMethod", "CARD")));
+                        case "admin" -> {
+                            call("GET /api/orders", get("/api/orders", adminToken));
+                            call("GET /products/all", get("/products/all", adminToken));
+                            call("GET /review", get("/review", adminToken));
+                        }
+                        default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    errors.merge("scenario " + scenario, 1L, Long::sum);
+                }
+            }
+        }
+
+        private JsonNode login(String username) throws Exception {
+            HttpResponse<byte[]> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("login " + username + " returned " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body());
+        }
+
+        private void call(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            if (!recording) {
+                return;
+            }
+            samples.computeIfAbsent(endpoint, key -> new LongList()).add(elapsed);
+            if (response.statusCode() >= 400) {
+                errors.merge(endpoint, 1L, Long::sum);
+            }
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder.build();
+    }
+
+    private HttpRequest loginRequest(String username) throws IOException {
+        return post("/auth/login", null, Map.of("username", username, "password", password));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(option.substring(0, eq), option.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            weights.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+
+    // Growable primitive buffer so recording a sample never boxes
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.models.Order;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.InventoryService;
+import com.example.BGF.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private InventoryService inventoryService;
+    private Long userId;
+    private Long productId;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start("orders");
+        userId = context.getBean(UserRepository.class).save(BenchmarkContext.user("buyer")).getId();
+        productId = context.getBean(ProductRepository.class).save(BenchmarkContext.product(1)).getId();
+        orderService = context.getBean(OrderService.class);
+        inventoryService = context.getBean(InventoryService.class);
+    }
+
+    // Every order reserves stock, so top it up before each iteration runs out
+    @Setup(Level.Iteration)
+    public void restock() {
+        inventoryService.adjust(productId, 10_000_000, "benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(userId, productId, 1, "No. 1, Main Street, Colombo", "CARD", "");
+    }
+}
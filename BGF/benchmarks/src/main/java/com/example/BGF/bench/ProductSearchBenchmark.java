@@ -0,0 +1,57 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int productCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start("search" + productCount);
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            products.add(BenchmarkContext.product(i));
+        }
+        context.getBean(ProductRepository.class).saveAll(products);
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> searchByName() {
+        return productService.searchByName("42");
+    }
+
+    @Benchmark
+    public List<Product> filterByCategory() {
+        return productService.filterByCategory("gym");
+    }
+
+    @Benchmark
+    public List<Product> allProducts() {
+        return productService.getAllProducts();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.Review;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.ReviewRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.ReviewService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int reviewCount;
+
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private Long productId;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start("reviews" + reviewCount);
+        User user = context.getBean(UserRepository.class).save(BenchmarkContext.user("reviewer"));
+        Product product = context.getBean(ProductRepository.class).save(BenchmarkContext.product(1));
+        productId = product.getId();
+
+        List<Review> reviews = new ArrayList<>(reviewCount);
+        for (int i = 0; i < reviewCount; i++) {
+            reviews.add(BenchmarkContext.review(user, product, i));
+        }
+        context.getBean(ReviewRepository.class).saveAll(reviews);
+        reviewService = context.getBean(ReviewService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double averageRating() {
+        return reviewService.getAverageRating(productId);
+    }
+
+    @Benchmark
+    public List<Review> reviewsByProduct() {
+        return reviewService.getReviewsByProduct(productId);
+    }
+}
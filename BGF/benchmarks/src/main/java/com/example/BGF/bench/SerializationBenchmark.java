@@ -0,0 +1,81 @@
+package com.example.BGF.bench;
+
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode and decode cost of the catalog and order lists in each format the
+// API negotiates. Payload sizes are printed once per trial, since JMH only
+// reports times.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCTS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Order>> ORDERS = new TypeReference<>() {
+    };
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private List<Order> orders;
+    private byte[] productBytes;
+    private byte[] orderBytes;
+
+    @Setup
+    public void setup() throws Exception {
+        // Same builder and factories as Spring MVC's converters, so the
+        // registered modules and document shapes match the API
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        products = BenchmarkContext.products(size);
+        orders = BenchmarkContext.orders(size);
+        productBytes = objectMapper.writeValueAsBytes(products);
+        orderBytes = objectMapper.writeValueAsBytes(orders);
+        System.out.printf("%n%s, %d items: products %d bytes, orders %d bytes%n",
+                format, size, productBytes.length, orderBytes.length);
+    }
+
+    @Benchmark
+    public byte[] productList() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] orderList() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public List<Product> readProductList() throws Exception {
+        return objectMapper.readValue(productBytes, PRODUCTS);
+    }
+
+    @Benchmark
+    public List<Order> readOrderList() throws Exception {
+        return objectMapper.readValue(orderBytes, ORDERS);
+    }
+}
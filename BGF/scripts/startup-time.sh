@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Measures cold start (launch -> /actuator/health/readiness = 200) and the
+# latency of the first real request, for the plain jar and the fast-start
+# build (Spring AOT + AppCDS archive + faststart profile).
+#
+# The warm-up that holds readiness back (bgf.warmup) is off by default, so
+# "ready" is the cold start alone; WARMUP=1 measures it included.
+#
+# Usage (from BGF/):  scripts/startup-time.sh [runs]
+#   SKIP_BUILD=1     reuse target/ from a previous run
+#   APP_ARGS="..."   extra application arguments, e.g. a real datasource;
+#                    defaults to an in-memory H2 database
+#   PORT=18090       port used for the measured runs
+#   MVN=./mvnw       Maven command (default: mvn)
+#   WARMUP=1         leave bgf.warmup on
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${PORT:-18090}
+JAR=BGF-0.0.1-SNAPSHOT-exec.jar
+OUT=target/faststart
+RESULT=target/startup-result.csv
+H2_URL='jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1'
+APP_ARGS=${APP_ARGS:-"--spring.datasource.url=$H2_URL --spring.datasource.username=sa --spring.datasource.password= --bgf.products.full-text-search=false --bgf.images.dir=${TMPDIR:-/tmp}/bgf-images-startup"}
+WARMUP_ARG="--bgf.warmup.enabled=$([[ -n "${WARMUP:-}" ]] && echo true || echo false)"
+FAST_OPTS="-XX:SharedArchiveFile=$OUT/app.jsa -Xshare:auto -Dspring.aot.enabled=true -Dspring.profiles.active=faststart"
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    echo "Building with AOT (mvn -Pfaststart)..."
+    ${MVN:-mvn} -B -q -Pfaststart package -DskipTests
+    rm -rf "$OUT"
+    java -Djarmode=tools -jar "target/$JAR" extract --destination "$OUT"
+
+    # Training run: start, refresh the context, exit, and dump the loaded classes
+    echo "Training run for the AppCDS archive..."
+    java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dspring.context.exit=onRefresh \
+        -Dspring.aot.enabled=true -Dspring.profiles.active=faststart \
+        -jar "$OUT/$JAR" $APP_ARGS --server.port=0 > "$OUT/training.log" 2>&1
+fi
+
+now_ms() { date +%s%3N; }
+
+# Prints "<ready ms> <first request ms>" for one cold start
+measure() {
+    local jar=$1; shift
+    local start ready first pid
+    start=$(now_ms)
+    java "$@" -jar "$jar" $APP_ARGS "$WARMUP_ARG" --server.port="$PORT" > "$OUT/run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health/readiness"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited, see $OUT/run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    ready=$(( $(now_ms) - start ))
+    first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT/products/all")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$ready $(awk -v t="$first" 'BEGIN { printf "%d", t * 1000 }')"
+}
+
+median() { sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }'; }
+
+echo "mode,run,ready_ms,first_request_ms" > "$RESULT"
+for mode in baseline faststart; do
+    for run in $(seq 1 "$RUNS"); do
+        if [[ $mode == baseline ]]; then
+            read -r ready first < <(measure "target/$JAR")
+        else
+            read -r ready first < <(measure "$OUT/$JAR" $FAST_OPTS)
+        fi
+        echo "$mode,$run,$ready,$first" >> "$RESULT"
+    done
+done
+
+printf '\n%-10s %14s %22s\n' mode "ready (ms)" "first request (ms)"
+for mode in baseline faststart; do
+    ready=$(grep "^$mode," "$RESULT" | cut -d, -f3 | median)
+    first=$(grep "^$mode," "$RESULT" | cut -d, -f4 | median)
+    printf '%-10s %14s %22s\n' "$mode" "$ready" "$first"
+done
+echo "Median of $RUNS runs; raw numbers in $RESULT"
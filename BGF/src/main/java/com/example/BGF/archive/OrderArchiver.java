@@ -0,0 +1,129 @@
+package com.example.BGF.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Moves DELIVERED and CANCELLED orders older than bgf.orders.archive.after
+// from orders to orders_archive, one batch per transaction: lock a batch of
+// ids, copy the rows, delete them. The hot table then holds open and recent
+// orders only, so its size follows recent activity rather than history.
+@Component
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private static final String COLUMNS = "id, user_id, product_id, quantity, price, total_amount, " +
+            "shipping_address, payment_method, notes, status, created_at";
+    // First yearly partition after p_old in db/migration/mysql/V8
+    private static final int FIRST_PARTITION_YEAR = 2024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private Boolean partitioned;
+
+    @Value("${bgf.orders.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bgf.orders.archive.after:90d}")
+    private Duration after;
+
+    @Value("${bgf.orders.archive.batch-size:500}")
+    private int batchSize;
+
+    public OrderArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = meterRegistry.counter("bgf.orders.archived");
+    }
+
+    @Scheduled(fixedDelayString = "${bgf.orders.archive.interval:1h}",
+            initialDelayString = "${bgf.orders.archive.initial-delay:5m}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    // Archives everything currently due; returns how many orders moved
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        ensurePartitions(cutoff.getYear());
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} orders created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        // Locks the rows, so a concurrent status change waits and then finds them gone
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE status IN ('DELIVERED', 'CANCELLED') AND created_at < ? " +
+                        "LIMIT ? FOR UPDATE",
+                Long.class, Timestamp.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(ids);
+        jdbcTemplate.update("INSERT INTO orders_archive (" + COLUMNS + ", archived_at) " +
+                "SELECT " + COLUMNS + ", ? FROM orders WHERE id IN (" + in + ")", args.toArray());
+        jdbcTemplate.update("DELETE FROM orders WHERE id IN (" + in + ")", ids.toArray());
+        archived.increment(ids.size());
+        return ids.size();
+    }
+
+    // MySQL only: gives each year up to the cutoff's its own partition by
+    // splitting p_future, so archived rows never pile up in the catch-all
+    private void ensurePartitions(int lastYear) {
+        if (!isPartitioned()) {
+            return;
+        }
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'orders_archive'",
+                String.class);
+        for (int year = FIRST_PARTITION_YEAR; year <= lastYear; year++) {
+            if (!existing.contains("p" + year)) {
+                jdbcTemplate.execute("ALTER TABLE orders_archive REORGANIZE PARTITION p_future INTO (" +
+                        "PARTITION p" + year + " VALUES LESS THAN ('" + (year + 1) + "-01-01'), " +
+                        "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+                log.info("Added order archive partition p{}", year);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "MySQL".equalsIgnoreCase(database);
+        }
+        return partitioned;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.BGF.booking;
+
+import java.time.LocalDateTime;
+
+// A booking as a provider's calendar holds it: [startTime, endTime)
+public record BookedSlot(Long id, Long providerId, LocalDateTime startTime, LocalDateTime endTime) {
+}
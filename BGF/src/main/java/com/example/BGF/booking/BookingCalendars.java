@@ -0,0 +1,107 @@
+package com.example.BGF.booking;
+
+import com.example.BGF.models.Booking;
+import com.example.BGF.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Every provider's calendar, held in memory and only for bookings that have
+// not ended. The bookings table stays the record: BookingService writes
+// through to it while holding the provider's lock, calendars are rebuilt from
+// it at startup, and one that is missing is loaded on first use. This
+// assumes a single instance takes bookings; a second one would not see the
+// first one's holds.
+//
+// Locks are striped: a fixed array indexed by provider id, so memory does
+// not grow with the number of providers and unrelated providers rarely share
+// a lock.
+@Component
+public class BookingCalendars {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingCalendars.class);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ProviderCalendar> calendars = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+
+    public BookingCalendars(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+                            @Value("${bgf.bookings.lock-stripes:64}") int stripeCount) {
+        this.bookingRepository = bookingRepository;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        meterRegistry.gauge("bgf.bookings.calendars", calendars, Map::size);
+        meterRegistry.gauge("bgf.bookings.slots", this, BookingCalendars::slotCount);
+    }
+
+    // For reads; the result may change under the caller
+    public ProviderCalendar get(Long providerId) {
+        ProviderCalendar calendar = calendars.get(providerId);
+        return calendar != null ? calendar : withCalendar(providerId, Function.identity());
+    }
+
+    // Runs the action holding the provider's lock, so no other hold or
+    // cancellation for that provider can interleave with it
+    public <T> T withCalendar(Long providerId, Function<ProviderCalendar, T> action) {
+        ReentrantLock lock = stripeOf(providerId);
+        lock.lock();
+        try {
+            ProviderCalendar calendar = calendars.computeIfAbsent(providerId, id -> new ProviderCalendar(
+                    bookingRepository.findSlotsByProviderIdAndStatusAndEndTimeAfter(id, Booking.BOOKED,
+                            LocalDateTime.now())));
+            return action.apply(calendar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, List<BookedSlot>> byProvider = bookingRepository
+                .findSlotsByStatusAndEndTimeAfter(Booking.BOOKED, LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(BookedSlot::providerId));
+        // A calendar loaded on demand meanwhile is at least as fresh as this snapshot
+        byProvider.forEach((providerId, slots) -> {
+            ReentrantLock lock = stripeOf(providerId);
+            lock.lock();
+            try {
+                calendars.putIfAbsent(providerId, new ProviderCalendar(slots));
+            } finally {
+                lock.unlock();
+            }
+        });
+        log.info("Booking calendars rebuilt: {} providers, {} bookings", byProvider.size(), slotCount());
+    }
+
+    // Finished bookings can no longer clash with anything
+    @Scheduled(fixedDelayString = "${bgf.bookings.prune-interval:1h}",
+            initialDelayString = "${bgf.bookings.prune-interval:1h}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        calendars.forEach((providerId, calendar) -> withCalendar(providerId, c -> c.pruneBefore(now)));
+    }
+
+    private ReentrantLock stripeOf(Long providerId) {
+        int hash = Long.hashCode(providerId);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private int slotCount() {
+        return calendars.values().stream().mapToInt(ProviderCalendar::size).sum();
+    }
+}
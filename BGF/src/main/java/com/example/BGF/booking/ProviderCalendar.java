@@ -0,0 +1,82 @@
+package com.example.BGF.booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// One provider's booked time as disjoint intervals keyed by start. Because no
+// two bookings overlap, the only one that can clash with [start, end) is the
+// last one starting before end, so a conflict check is a single floor lookup
+// and a free-slot search walks just the bookings inside the window.
+//
+// Reads are lock-free; writers hold the provider's stripe in BookingCalendars,
+// which is what makes check-then-add atomic.
+public class ProviderCalendar {
+
+    private final ConcurrentSkipListMap<LocalDateTime, BookedSlot> slots = new ConcurrentSkipListMap<>();
+
+    ProviderCalendar(List<BookedSlot> booked) {
+        for (BookedSlot slot : booked) {
+            slots.put(slot.startTime(), slot);
+        }
+    }
+
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, BookedSlot> last = slots.lowerEntry(end);
+        return last == null || !last.getValue().endTime().isAfter(start);
+    }
+
+    // Gaps of at least minLength within [from, to), earliest first
+    public List<TimeWindow> freeWindows(LocalDateTime from, LocalDateTime to, Duration minLength) {
+        List<TimeWindow> windows = new ArrayList<>();
+        LocalDateTime cursor = from;
+        Map.Entry<LocalDateTime, BookedSlot> running = slots.lowerEntry(from);
+        if (running != null && running.getValue().endTime().isAfter(cursor)) {
+            cursor = running.getValue().endTime();
+        }
+        for (BookedSlot slot : slots.subMap(from, true, to, false).values()) {
+            addIfLongEnough(windows, cursor, slot.startTime(), minLength);
+            if (slot.endTime().isAfter(cursor)) {
+                cursor = slot.endTime();
+            }
+        }
+        addIfLongEnough(windows, cursor, to, minLength);
+        return windows;
+    }
+
+    public void add(BookedSlot slot) {
+        slots.put(slot.startTime(), slot);
+    }
+
+    public void remove(BookedSlot slot) {
+        slots.computeIfPresent(slot.startTime(), (start, held) -> held.id().equals(slot.id()) ? null : held);
+    }
+
+    // Drops bookings that ended at or before the given time; returns how many
+    int pruneBefore(LocalDateTime time) {
+        int pruned = 0;
+        Iterator<BookedSlot> it = slots.headMap(time).values().iterator();
+        while (it.hasNext()) {
+            if (!it.next().endTime().isAfter(time)) {
+                it.remove();
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private static void addIfLongEnough(List<TimeWindow> windows, LocalDateTime start, LocalDateTime end,
+                                        Duration minLength) {
+        if (Duration.between(start, end).compareTo(minLength) >= 0) {
+            windows.add(new TimeWindow(start, end));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.BGF.booking;
+
+import java.time.LocalDateTime;
+
+// A free stretch of a provider's time: [start, end)
+public record TimeWindow(LocalDateTime start, LocalDateTime end) {
+}
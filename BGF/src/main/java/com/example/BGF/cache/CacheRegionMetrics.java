@@ -0,0 +1,53 @@
+package com.example.BGF.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+// bgf.cache.hit.ratio{region} for every configured region, entity and query
+// alike, next to its bgf.cache.max.entries, for sizing bgf.cache.regions.
+// The raw counts are Hibernate's hibernate.second.level.cache.* and
+// hibernate.query.cache.* meters. NaN until a region has been looked up.
+@Component
+public class CacheRegionMetrics {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public CacheRegionMetrics(EntityManagerFactory entityManagerFactory, EntityCacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class)
+                .unwrap(SessionFactoryImplementor.class);
+        properties.getRegions().forEach((name, region) -> {
+            Gauge.builder("bgf.cache.hit.ratio", this, metrics -> metrics.hitRatio(name))
+                    .tag("region", name)
+                    .register(meterRegistry);
+            Gauge.builder("bgf.cache.max.entries", region, EntityCacheProperties.Region::getMaxEntries)
+                    .tag("region", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    double hitRatio(String regionName) {
+        // Query regions are created on their first query
+        Region region = sessionFactory.getCache().getRegion(regionName);
+        if (region == null) {
+            return Double.NaN;
+        }
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheRegionStatistics stats = region instanceof QueryResultsRegion
+                ? statistics.getQueryRegionStatistics(regionName)
+                : statistics.getDomainDataRegionStatistics(regionName);
+        if (stats == null) {
+            return Double.NaN;
+        }
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) stats.getHitCount() / lookups;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.BGF.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties("bgf.cache")
+public class EntityCacheProperties {
+
+    // Region name -> size and lifetime. Entities name their region in @Cache,
+    // repository finders in the org.hibernate.cacheRegion query hint; each
+    // one in use has a default here, bgf.cache.regions.<name> overrides it.
+    private Map<String, Region> regions = new LinkedHashMap<>(Map.of(
+            "product", new Region(10_000, Duration.ofMinutes(30)),
+            "user", new Region(10_000, Duration.ofMinutes(30)),
+            "service", new Region(2_000, Duration.ofMinutes(30)),
+            "product-queries", new Region(1_000, Duration.ofMinutes(5)),
+            "user-queries", new Region(10_000, Duration.ofMinutes(30)),
+            "service-queries", new Region(10, Duration.ofMinutes(30))));
+
+    public Map<String, Region> getRegions() { return regions; }
+    public void setRegions(Map<String, Region> regions) { this.regions = regions; }
+
+    public static class Region {
+        // Entries kept on heap; beyond this, rarely used ones are evicted
+        private long maxEntries = 1000;
+
+        // Hibernate invalidates on its own writes; this bounds how long a
+        // change made outside it (raw JDBC, another tool) can stay invisible.
+        // Zero keeps entries until they are evicted.
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public Region() {
+        }
+
+        public Region(long maxEntries, Duration timeToLive) {
+            this.maxEntries = maxEntries;
+            this.timeToLive = timeToLive;
+        }
+
+        public long getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(long maxEntries) { this.maxEntries = maxEntries; }
+
+        public Duration getTimeToLive() { return timeToLive; }
+        public void setTimeToLive(Duration timeToLive) { this.timeToLive = timeToLive; }
+    }
+}
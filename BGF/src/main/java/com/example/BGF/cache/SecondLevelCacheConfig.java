@@ -0,0 +1,70 @@
+package com.example.BGF.cache;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+// Hibernate second-level cache on Ehcache's heap tier, through JCache. Every
+// region is declared here with its own size and lifetime; Hibernate refuses
+// to start on a region without one instead of creating an unbounded cache.
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    static final String DEFAULT_QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    // Last write time per table; a cached query result older than a write to
+    // any of its tables is ignored. One entry per table, and it must outlive
+    // every query result it guards, so it is neither bounded tightly nor expired.
+    static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(EntityCacheProperties properties) {
+        ConfigurationBuilder config = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(TIMESTAMPS_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class, Object.class, ResourcePoolsBuilder.heap(10_000)))
+                .withCache(DEFAULT_QUERY_REGION, region(new EntityCacheProperties.Region()));
+        for (Map.Entry<String, EntityCacheProperties.Region> region : properties.getRegions().entrySet()) {
+            config = config.withCache(region.getKey(), region(region.getValue()));
+        }
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // Own URI per application context, so test contexts don't share regions
+        return provider.getCacheManager(URI.create("urn:bgf:hibernate:" + UUID.randomUUID()), config.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            // On unless spring.jpa.properties.hibernate.cache.* says otherwise
+            properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+            properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, "true");
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CacheConfigurationBuilder<Object, Object> region(EntityCacheProperties.Region region) {
+        Duration ttl = region.getTimeToLive();
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class, Object.class, ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                .withExpiry(ttl.isZero() ? ExpiryPolicyBuilder.noExpiration() : ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+    }
+}
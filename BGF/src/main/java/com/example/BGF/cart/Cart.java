@@ -0,0 +1,133 @@
+package com.example.BGF.cart;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// One user's cart as CartStore holds it. Only touched under the user's
+// stripe lock (CartStore.withCart), so nothing here is thread-safe.
+public class Cart {
+
+    private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+    // Bumped by every change, including a product in it changing
+    private long revision;
+    // Lines changed since the store last queued the cart for persisting
+    private boolean modified;
+    // Last revalidation; null until the next one
+    private CartView validated;
+    private long lastAccess;
+    // Set while a checkout places this cart's lines
+    private boolean checkingOut;
+
+    Cart(List<CartLine> lines) {
+        for (CartLine line : lines) {
+            this.lines.put(line.productId(), line);
+        }
+    }
+
+    public List<CartLine> lines() {
+        return List.copyOf(lines.values());
+    }
+
+    public CartLine line(Long productId) {
+        return lines.get(productId);
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public void put(CartLine line) {
+        lines.put(line.productId(), line);
+        changed();
+    }
+
+    public void remove(Long productId) {
+        if (lines.remove(productId) != null) {
+            changed();
+        }
+    }
+
+    public void clear() {
+        if (!lines.isEmpty()) {
+            lines.clear();
+            changed();
+        }
+    }
+
+    public long revision() {
+        return revision;
+    }
+
+    public CartView validated() {
+        return validated;
+    }
+
+    // Applies a revalidation started at the given revision: takes the
+    // current prices, drops products that are gone and caches the view.
+    // Returns false, changing nothing, if the cart moved on meanwhile.
+    public boolean applyRevalidation(long atRevision, Map<Long, Double> prices, Set<Long> gone, CartView view) {
+        if (revision != atRevision) {
+            return false;
+        }
+        prices.forEach((productId, price) -> lines.computeIfPresent(productId,
+                (id, line) -> new CartLine(id, line.quantity(), price, line.addedAt())));
+        gone.forEach(lines::remove);
+        if (!prices.isEmpty() || !gone.isEmpty()) {
+            changed();
+        }
+        validated = view.acknowledged();
+        return true;
+    }
+
+    // Claims the cart for a checkout: returns the lines as last validated,
+    // or null if the cart changed since. Throws IllegalStateException while
+    // another checkout of it is running. endCheckout() releases it.
+    public CartView beginCheckout() {
+        if (checkingOut) {
+            throw new IllegalStateException("A checkout of this cart is already in progress");
+        }
+        if (validated == null) {
+            return null;
+        }
+        checkingOut = true;
+        return validated;
+    }
+
+    public void endCheckout() {
+        checkingOut = false;
+    }
+
+    boolean checkingOut() {
+        return checkingOut;
+    }
+
+    void markStale() {
+        revision++;
+        validated = null;
+    }
+
+    boolean takeModified() {
+        boolean was = modified;
+        modified = false;
+        return was;
+    }
+
+    Set<Long> productIds() {
+        return Set.copyOf(lines.keySet());
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    private void changed() {
+        markStale();
+        modified = true;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.BGF.cart;
+
+import java.time.LocalDateTime;
+
+// One product in a cart. unitPrice is the price the customer last saw; a
+// revalidation that finds a different one reports it and takes the new one.
+public record CartLine(Long productId, int quantity, Double unitPrice, LocalDateTime addedAt) {
+}
@@ -0,0 +1,261 @@
+package com.example.BGF.cart;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.InventoryEvent;
+import com.example.BGF.events.ProductChangedEvent;
+import com.example.BGF.outbox.EventOnlySubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Carts in memory, written behind to cart_items. A change only marks the
+// cart dirty; flush() persists dirty carts every bgf.cart.flush-interval, a
+// batch of users per transaction (delete their rows, batch-insert the
+// lines). A cart not in memory is read from the table on first use, and
+// beyond bgf.cart.max-carts the least recently used clean carts are dropped
+// after a flush. Like the booking calendars this assumes one instance
+// serves carts.
+//
+// Locks are striped by user id. cartsByProduct is the reverse index from a
+// product to the loaded carts holding it, so a product change marks exactly
+// those carts for revalidation instead of scanning every cart.
+@Component
+public class CartStore implements EventOnlySubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(CartStore.class);
+
+    private static final String INSERT = "INSERT INTO cart_items (user_id, product_id, quantity, unit_price, added_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Cart> carts = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cartsByProduct = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock[] stripes;
+    private final Counter flushed;
+
+    @Value("${bgf.cart.max-carts:100000}")
+    private int maxCarts;
+
+    @Value("${bgf.cart.flush-batch-size:200}")
+    private int flushBatchSize;
+
+    public CartStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry, @Value("${bgf.cart.lock-stripes:64}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.flushed = meterRegistry.counter("bgf.cart.flushed");
+        meterRegistry.gauge("bgf.cart.loaded", carts, Map::size);
+        meterRegistry.gauge("bgf.cart.dirty", dirty, Set::size);
+    }
+
+    // Runs the action on the user's cart, loading it if needed, with the
+    // user's lock held
+    public <T> T withCart(Long userId, Function<Cart, T> action) {
+        ReentrantLock lock = stripeOf(userId);
+        lock.lock();
+        try {
+            Cart cart = carts.get(userId);
+            if (cart == null) {
+                cart = load(userId);
+                carts.put(userId, cart);
+                reindex(userId, Set.of(), cart.productIds());
+            }
+            Set<Long> before = cart.productIds();
+            try {
+                return action.apply(cart);
+            } finally {
+                if (cart.takeModified()) {
+                    dirty.add(userId);
+                    reindex(userId, before, cart.productIds());
+                }
+                cart.touch(System.nanoTime());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(ProductChangedEvent.class, InventoryEvent.class);
+    }
+
+    // Price edits and deletions arrive as ProductChangedEvent, stock
+    // movements as InventoryEvent; either way the carts holding the product
+    // revalidate on their next read
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        Set<Long> productIds = events.stream().map(DomainEvent::aggregateId).collect(Collectors.toSet());
+        for (Long productId : productIds) {
+            for (Long userId : cartsByProduct.getOrDefault(productId, Set.of())) {
+                ifLoaded(userId, Cart::markStale);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bgf.cart.flush-interval:1s}")
+    public void flushAndEvict() {
+        flush();
+        evict();
+    }
+
+    // Persists every dirty cart; returns how many were written. One flush at
+    // a time, so an older snapshot of a cart never overwrites a newer one.
+    public synchronized int flush() {
+        int total = 0;
+        while (!dirty.isEmpty()) {
+            List<Long> batch = new ArrayList<>(flushBatchSize);
+            Iterator<Long> it = dirty.iterator();
+            while (it.hasNext() && batch.size() < flushBatchSize) {
+                batch.add(it.next());
+                it.remove();
+            }
+            // Snapshots taken after leaving the dirty set: a change from here
+            // on queues the cart again
+            Map<Long, List<CartLine>> snapshot = new HashMap<>();
+            for (Long userId : batch) {
+                ifLoaded(userId, cart -> snapshot.put(userId, cart.lines()));
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(snapshot));
+            } catch (RuntimeException e) {
+                dirty.addAll(batch);
+                log.warn("Cart flush failed for {} carts; will retry", batch.size(), e);
+                return total;
+            }
+            flushed.increment(snapshot.size());
+            total += snapshot.size();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        if (written > 0) {
+            log.info("Flushed {} carts on shutdown", written);
+        }
+    }
+
+    private void write(Map<Long, List<CartLine>> snapshot) {
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = List.copyOf(snapshot.keySet());
+        String in = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        jdbcTemplate.update("DELETE FROM cart_items WHERE user_id IN (" + in + ")", userIds.toArray());
+        List<Object[]> rows = new ArrayList<>();
+        snapshot.forEach((userId, lines) -> {
+            for (CartLine line : lines) {
+                rows.add(new Object[]{userId, line.productId(), line.quantity(), line.unitPrice(),
+                        Timestamp.valueOf(line.addedAt())});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+    }
+
+    // Drops least recently used carts beyond the bound; dirty ones stay
+    // until they have been written, and ones checking out until they're done
+    private synchronized void evict() {
+        int excess = carts.size() - maxCarts;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<Long, Cart>> oldest = carts.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess()))
+                .limit(excess)
+                .toList();
+        for (Map.Entry<Long, Cart> entry : oldest) {
+            Long userId = entry.getKey();
+            ReentrantLock lock = stripeOf(userId);
+            lock.lock();
+            try {
+                Cart cart = carts.get(userId);
+                if (cart != null && !dirty.contains(userId) && !cart.checkingOut()) {
+                    carts.remove(userId);
+                    reindex(userId, cart.productIds(), Set.of());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Cart load(Long userId) {
+        return new Cart(jdbcTemplate.query(
+                "SELECT product_id, quantity, unit_price, added_at FROM cart_items WHERE user_id = ? ORDER BY added_at",
+                (rs, row) -> new CartLine(rs.getLong("product_id"), rs.getInt("quantity"),
+                        rs.getObject("unit_price", Double.class), rs.getTimestamp("added_at").toLocalDateTime()),
+                userId));
+    }
+
+    private void ifLoaded(Long userId, Consumer<Cart> action) {
+        ReentrantLock lock = stripeOf(userId);
+        lock.lock();
+        try {
+            Cart cart = carts.get(userId);
+            if (cart != null) {
+                action.accept(cart);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // compute() keeps each product's set change atomic with removing it once empty
+    private void reindex(Long userId, Set<Long> before, Set<Long> after) {
+        for (Long productId : before) {
+            if (!after.contains(productId)) {
+                cartsByProduct.computeIfPresent(productId, (id, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+        }
+        for (Long productId : after) {
+            if (!before.contains(productId)) {
+                cartsByProduct.compute(productId, (id, users) -> {
+                    Set<Long> set = users != null ? users : ConcurrentHashMap.newKeySet();
+                    set.add(userId);
+                    return set;
+                });
+            }
+        }
+    }
+
+    private ReentrantLock stripeOf(Long userId) {
+        int hash = Long.hashCode(userId);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.BGF.cart;
+
+import java.util.List;
+
+// A cart checked against current prices and stock. An item's problem is
+// null when it can be ordered as shown.
+public record CartView(List<Item> items, int totalItems, double totalPrice, boolean ready) {
+
+    public static final String PRICE_CHANGED = "PRICE_CHANGED";
+    public static final String INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+
+    public static final CartView EMPTY = new CartView(List.of(), 0, 0, true);
+
+    // previousPrice is set with PRICE_CHANGED; stock is null for untracked products
+    public record Item(Long productId, String name, String imageUrl, int quantity, Double unitPrice,
+                       Double previousPrice, Integer stock, String problem) {
+    }
+
+    public static CartView of(List<Item> items) {
+        int totalItems = 0;
+        double totalPrice = 0;
+        boolean ready = true;
+        for (Item item : items) {
+            if (UNAVAILABLE.equals(item.problem())) {
+                ready = false;
+                continue;
+            }
+            totalItems += item.quantity();
+            totalPrice += item.unitPrice() * item.quantity();
+            ready &= item.problem() == null;
+        }
+        return new CartView(List.copyOf(items), totalItems, totalPrice, ready);
+    }
+
+    // The view once its notices have been shown: new prices are taken and
+    // unavailable products are gone from the cart
+    CartView acknowledged() {
+        return of(items.stream()
+                .filter(item -> !UNAVAILABLE.equals(item.problem()))
+                .map(item -> PRICE_CHANGED.equals(item.problem())
+                        ? new Item(item.productId(), item.name(), item.imageUrl(), item.quantity(),
+                        item.unitPrice(), null, item.stock(),
+                        item.stock() != null && item.stock() < item.quantity() ? INSUFFICIENT_STOCK : null)
+                        : item)
+                .toList());
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.BGF.controller;
 
 import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
 import com.example.BGF.security.JwtUtil;
+import com.example.BGF.service.BatchLookupService;
 import com.example.BGF.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,10 +18,12 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final BatchLookupService batchLookupService;
 
-    public AuthController(UserService userService, JwtUtil jwtUtil) {
+    public AuthController(UserService userService, JwtUtil jwtUtil, BatchLookupService batchLookupService) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
+        this.batchLookupService = batchLookupService;
     }
 
     @PostMapping("/register")
@@ -64,6 +69,17 @@ public class AuthController {
                 .orElse(ResponseEntity.badRequest().body("User not found"));
     }
 
+    // Public profiles of many users/providers at once: /auth/profile/batch?ids=4,7
+    @GetMapping("/profile/batch")
+    @SqlBudget(5) // one IN query per chunk: max-ids / chunk-size
+    public ResponseEntity<?> getProfilesBatch(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(batchLookupService.getPublicProfiles(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Profile management endpoints
     @GetMapping("/profile/{userId}")
     public ResponseEntity<?> getProfile(@PathVariable Long userId) {
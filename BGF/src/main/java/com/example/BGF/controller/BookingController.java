@@ -0,0 +1,88 @@
+package com.example.BGF.controller;
+
+import com.example.BGF.booking.TimeWindow;
+import com.example.BGF.models.Booking;
+import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
+import com.example.BGF.service.BookingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+// Signed-in users and admins (see SecurityConfig). Times are local ISO
+// date-times, e.g. 2026-11-02T10:00
+@RestController
+@RequestMapping("/services/user")
+public class BookingController {
+
+    private final BookingService bookingService;
+
+    public BookingController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    // /services/user/7/slots?from=2026-11-02T08:00&to=2026-11-02T18:00&minutes=60
+    @GetMapping("/{serviceId}/slots")
+    @SqlBudget(2) // user lookup by the JWT filter + the service; the calendar is in memory
+    public ResponseEntity<?> getFreeSlots(@PathVariable Long serviceId,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          @RequestParam(defaultValue = "60") int minutes) {
+        try {
+            List<TimeWindow> slots = bookingService.findFreeSlots(serviceId, from, to, minutes);
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Body: {"start": "2026-11-02T10:00", "end": "2026-11-02T11:00"}
+    @PostMapping("/{serviceId}/bookings")
+    public ResponseEntity<?> book(@PathVariable Long serviceId, @RequestBody Map<String, String> body,
+                                  @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(bookingService.book(serviceId, user, parseTime(body.get("start")),
+                    parseTime(body.get("end"))));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/bookings/{id}/cancel")
+    public ResponseEntity<?> cancel(@PathVariable Long id, @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(bookingService.cancel(id, user));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // The caller's own bookings, newest first
+    @GetMapping("/bookings")
+    @SqlBudget(2)
+    public List<Booking> getMyBookings(@AuthenticationPrincipal User user) {
+        return bookingService.getCustomerBookings(user);
+    }
+
+    // Upcoming bookings of the caller's services
+    @GetMapping("/bookings/provided")
+    @SqlBudget(2)
+    public List<Booking> getProvidedBookings(@AuthenticationPrincipal User user) {
+        return bookingService.getUpcomingForProvider(user);
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+}
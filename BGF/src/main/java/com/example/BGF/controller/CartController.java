@@ -0,0 +1,75 @@
+package com.example.BGF.controller;
+
+import com.example.BGF.cart.CartView;
+import com.example.BGF.models.Order;
+import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
+import com.example.BGF.service.CartService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The signed-in user's cart. Every response is the cart checked against
+// current prices and stock (see CartView for the per-item problems).
+@RestController
+@RequestMapping("/api/cart")
+public class CartController {
+
+    private final CartService cartService;
+
+    public CartController(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @GetMapping
+    @SqlBudget(3) // user lookup by the JWT filter + loading the cart + one multi-get of its products
+    public CartView getCart(@AuthenticationPrincipal User user) {
+        return cartService.getCart(user);
+    }
+
+    // Body: {"quantity": 2}; 0 removes the product
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<?> setQuantity(@PathVariable Long productId, @RequestBody Map<String, Object> body,
+                                         @AuthenticationPrincipal User user) {
+        try {
+            int quantity = Integer.parseInt(String.valueOf(body.get("quantity")));
+            return ResponseEntity.ok(cartService.setQuantity(user, productId, quantity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public CartView removeItem(@PathVariable Long productId, @AuthenticationPrincipal User user) {
+        return cartService.removeItem(user, productId);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear(@AuthenticationPrincipal User user) {
+        cartService.clear(user);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Body: {"shippingAddress": "...", "paymentMethod": "...", "notes": "..."}.
+    // 409 with the re-checked cart when prices or stock changed.
+    @PostMapping("/checkout")
+    public ResponseEntity<?> checkout(@RequestBody Map<String, String> body, @AuthenticationPrincipal User user) {
+        try {
+            List<Order> orders = cartService.checkout(user, body.get("shippingAddress"), body.get("paymentMethod"),
+                    body.get("notes"));
+            return ResponseEntity.ok(Map.of("orders", orders));
+        } catch (CartService.CartChangedException e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.getMessage());
+            error.put("cart", e.getCart());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.BGF.controller;
+
+import com.example.BGF.export.ExportRequest;
+import com.example.BGF.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Admin-only (see SecurityConfig): streamed exports for BI, e.g.
+// /api/admin/export/orders?from=2026-01-01&to=2026-03-31&columns=status,total_amount&format=ndjson
+// Datasets: orders, archived-orders, reviews. created_at and id always come
+// first; to resume, pass them from the last row received as after=<created_at>,<id>.
+// Gzipped when the request sends Accept-Encoding: gzip.
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<?> export(@PathVariable String dataset,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                    @RequestParam(required = false) List<String> columns,
+                                    @RequestParam(defaultValue = "csv") String format,
+                                    @RequestParam(required = false) String after,
+                                    @RequestParam(required = false) Integer limit,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                    HttpServletResponse response) throws IOException {
+        ExportRequest request;
+        try {
+            request = exportService.prepare(dataset, from, to, columns, format, after, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        try {
+            exportService.export(request, () -> {
+                response.setContentType(request.format().contentType() + ";charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(request.filename()).build().toString());
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    return new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+                }
+                return response.getOutputStream();
+            });
+        } catch (ExportService.ExportsBusyException e) {
+            // Thrown before anything is written, so the response is still ours
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", e.getMessage()));
+        }
+        // Already written
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.BGF.controller;
+
+import com.example.BGF.images.ImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.time.Duration;
+
+// Product images from ImageStore: /images/<sha-256>.<ext>?w=320 for the
+// narrowest thumbnail at least 320 pixels wide. Names are content hashes, so
+// the ETag is strong and responses are cacheable for a year. On Tomcat the
+// file goes out with sendfile, straight from the page cache to the socket.
+@RestController
+@RequestMapping("/images")
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+
+    public ImageController(ImageStore imageStore) {
+        this.imageStore = imageStore;
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<?> getImage(@PathVariable String name, @RequestParam(name = "w", required = false) Integer width,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageStore.Variant variant = imageStore.find(name, width);
+        if (variant == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + variant.etag() + "\"";
+        // The original standing in for a thumbnail still being made: don't
+        // let it be cached as the thumbnail
+        String cacheControl = variant.settled()
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue()
+                : CacheControl.noCache().getHeaderValue();
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+
+        long size = Files.size(variant.path());
+        response.setContentType(variant.contentType());
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, variant.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+        } else {
+            try (FileChannel file = FileChannel.open(variant.path())) {
+                file.transferTo(0, size, Channels.newChannel(response.getOutputStream()));
+            }
+        }
+        // Already written
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.BGF.controller;
+
+import com.example.BGF.inventory.InventoryAlertStream;
+import com.example.BGF.inventory.LowStockAlert;
+import com.example.BGF.inventory.LowStockWatcher;
+import com.example.BGF.models.InventoryMovement;
+import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
+import com.example.BGF.service.InventoryService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+// Admin-only (see SecurityConfig): stock history, restocks and low-stock alerts
+@RestController
+@RequestMapping("/products/admin/inventory")
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+    private final LowStockWatcher lowStockWatcher;
+    private final InventoryAlertStream alertStream;
+
+    public InventoryController(InventoryService inventoryService, LowStockWatcher lowStockWatcher,
+                               InventoryAlertStream alertStream) {
+        this.inventoryService = inventoryService;
+        this.lowStockWatcher = lowStockWatcher;
+        this.alertStream = alertStream;
+    }
+
+    // Newest first: /products/admin/inventory/5/movements?limit=50
+    @GetMapping("/{productId}/movements")
+    @SqlBudget(2) // user lookup by the JWT filter + the movements page
+    public ResponseEntity<List<InventoryMovement>> getMovements(@PathVariable Long productId,
+                                                                @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(inventoryService.getHistory(productId, limit));
+    }
+
+    // Body: {"quantity": 20}
+    @PostMapping("/{productId}/restock")
+    public ResponseEntity<?> restock(@PathVariable Long productId, @RequestBody Map<String, Object> body,
+                                     @AuthenticationPrincipal User admin) {
+        try {
+            int quantity = Integer.parseInt(String.valueOf(body.get("quantity")));
+            return ResponseEntity.ok(inventoryService.restock(productId, quantity, admin.getUsername()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/alerts")
+    @SqlBudget(1) // only the JWT filter's user lookup: alerts are held in memory
+    public ResponseEntity<List<LowStockAlert>> getAlerts() {
+        return ResponseEntity.ok(lowStockWatcher.current());
+    }
+
+    // Server-Sent Events: a "snapshot" of current alerts, then each change
+    @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAlerts() {
+        SseEmitter emitter = alertStream.subscribe(lowStockWatcher::current);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
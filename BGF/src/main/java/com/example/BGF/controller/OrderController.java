@@ -1,12 +1,21 @@
 package com.example.BGF.controller;
 
+import com.example.BGF.events.OrderEventStream;
+import com.example.BGF.models.BaseOrder;
 import com.example.BGF.models.Order;
 import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
 import com.example.BGF.service.OrderService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.*;
 
 @RestController
@@ -14,8 +23,10 @@ import java.util.*;
 public class OrderController {
 
     private final OrderService orderService;
-    public OrderController(OrderService orderService) {
+    private final OrderEventStream orderEventStream;
+    public OrderController(OrderService orderService, OrderEventStream orderEventStream) {
         this.orderService = orderService;
+        this.orderEventStream = orderEventStream;
     }
 
     @PostMapping
@@ -38,23 +49,48 @@ public class OrderController {
         }
     }
 
+    // Server-Sent Events for the caller's own orders (see OrderEventStream)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrders(@AuthenticationPrincipal User user,
+                                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        SseEmitter emitter = orderEventStream.subscribe(user.getId(), lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
     @GetMapping("/{id}")
+    @SqlBudget(2)
     public ResponseEntity<?> getOrderById(@PathVariable Long id) {
         return orderService.getOrderById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.badRequest().body((Order) Map.of("error", "Order not found")));
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.badRequest().body(Map.of("error", "Order not found")));
     }
 
+    // ?since=2023-01-01 adds archived orders placed on or after that date
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getOrdersByUser(@PathVariable Long userId) {
+    @SqlBudget(3)
+    public ResponseEntity<?> getOrdersByUser(@PathVariable Long userId,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
         User user = new User();
         user.setId(userId);
-        return ResponseEntity.ok(orderService.getOrdersByUser(user));
+        return ResponseEntity.ok(since == null
+                ? orderService.getOrdersByUser(user)
+                : orderService.getOrderHistory(user, since.atStartOfDay()));
     }
 
     @GetMapping
-    public List<Order> getMyOrders(@AuthenticationPrincipal User user) {
-        return orderService.getOrdersForUser(user);
+    @SqlBudget(3)
+    public List<? extends BaseOrder> getMyOrders(@AuthenticationPrincipal User user,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        return since == null ? orderService.getOrdersForUser(user) : orderService.getOrderHistory(user, since.atStartOfDay());
     }
 
     @PutMapping("/{id}/status")
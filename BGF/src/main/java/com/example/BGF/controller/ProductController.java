@@ -2,13 +2,25 @@ package com.example.BGF.controller;
 
 import com.example.BGF.models.Product;
 import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
+import com.example.BGF.search.ProductCatalogIndex;
+import com.example.BGF.search.ProductQuery;
+import com.example.BGF.search.ProductSuggester;
+import com.example.BGF.search.Suggestion;
+import com.example.BGF.service.BatchLookupService;
+import com.example.BGF.service.ProductPageService;
 import com.example.BGF.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/products")
@@ -17,6 +29,18 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductPageService productPageService;
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    @Autowired
+    private ProductSuggester productSuggester;
+
+    @Autowired
+    private ProductCatalogIndex productCatalogIndex;
+
     // Create
     @PostMapping("/admin/add")
     public ResponseEntity<Product> addProduct(@RequestBody Product product, @AuthenticationPrincipal User admin) {
@@ -25,22 +49,62 @@ public class ProductController {
 
     // Read all
     @GetMapping("/all")
+    @SqlBudget(2)
     public ResponseEntity<List<Product>> getAllProducts() {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    // Read many by ID: /products/batch?ids=3,1,2
+    @GetMapping("/batch")
+    @SqlBudget(5) // one IN query per chunk: max-ids / chunk-size
+    public ResponseEntity<?> getProductsBatch(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(batchLookupService.getProducts(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Read by ID
     @GetMapping("/{id}")
+    @SqlBudget(2)
     public ResponseEntity<Product> getProduct(@PathVariable Long id) {
         return productService.getProductById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Product page: product, latest reviews, rating summary and related products in one call
+    @GetMapping("/{id}/page")
+    @SqlBudget(4) // one per part, run on the page pool; the product is often a cache hit
+    public ResponseEntity<?> getProductPage(@PathVariable Long id) {
+        try {
+            return productPageService.getPage(id)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Update
     @PutMapping("/admin/update/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product product) {
-        return ResponseEntity.ok(productService.updateProduct(id, product));
+    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product product,
+                                                 @AuthenticationPrincipal User admin) {
+        return ResponseEntity.ok(productService.updateProduct(id, product, admin));
+    }
+
+    // Image upload, multipart field "file"; the product's imageUrl becomes
+    // /images/<sha-256>.<ext> and thumbnails follow in the background
+    @PostMapping("/admin/{id}/image")
+    public ResponseEntity<?> uploadImage(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        try {
+            return ResponseEntity.ok(productService.updateImage(id, file.getBytes()));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // Delete
@@ -52,12 +116,48 @@ public class ProductController {
 
     // Search by name
     @GetMapping("/search")
+    @SqlBudget(2)
     public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
         return ResponseEntity.ok(productService.searchByName(name));
     }
 
+    // Type-ahead: /products/suggest?prefix=pro&limit=8, served from memory
+    @GetMapping("/suggest")
+    @SqlBudget(0)
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productSuggester.suggest(prefix, Math.max(limit, 1)));
+    }
+
+    // Range filter and sort, served from memory:
+    // /products/browse?category=cricket&minPrice=1000&maxPrice=5000&sort=price&direction=desc&page=0&size=20
+    @GetMapping("/browse")
+    @SqlBudget(0)
+    public ResponseEntity<?> browseProducts(@RequestParam(required = false) String category,
+                                            @RequestParam(required = false) Double minPrice,
+                                            @RequestParam(required = false) Double maxPrice,
+                                            @RequestParam(required = false) Integer minStock,
+                                            @RequestParam(required = false) Integer maxStock,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String direction,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
+        try {
+            ProductQuery query = new ProductQuery(category, minPrice, maxPrice, minStock, maxStock,
+                    ProductQuery.parseSort(sort), ProductQuery.parseDescending(direction));
+            return ResponseEntity.ok(productCatalogIndex.browse(query, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Filter by category
     @GetMapping("/filter")
+    @SqlBudget(2)
     public ResponseEntity<List<Product>> filterProducts(@RequestParam String category) {
         return ResponseEntity.ok(productService.filterByCategory(category));
     }
@@ -1,6 +1,7 @@
 package com.example.BGF.controller;
 
 import com.example.BGF.models.Review;
+import com.example.BGF.monitoring.SqlBudget;
 import com.example.BGF.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ public class ReviewController {
 
     // --- Get All Reviews ---
     @GetMapping
+    @SqlBudget(2)
     public ResponseEntity<List<Review>> getAllReviews() {
         return ResponseEntity.ok(reviewService.getAllReviews());
     }
@@ -50,24 +52,28 @@ public class ReviewController {
 
     // --- Get Reviews by Product ---
     @GetMapping("/product/{productId}")
+    @SqlBudget(2)
     public ResponseEntity<List<Review>> getReviewsByProduct(@PathVariable Long productId) {
         return ResponseEntity.ok(reviewService.getReviewsByProduct(productId));
     }
 
     // --- Get Reviews by User ---
     @GetMapping("/user/{userId}")
+    @SqlBudget(2)
     public ResponseEntity<List<Review>> getReviewsByUser(@PathVariable Long userId) {
         return ResponseEntity.ok(reviewService.getReviewsByUser(userId));
     }
 
     // --- Get Average Rating for Product ---
     @GetMapping("/product/{productId}/average")
+    @SqlBudget(2)
     public ResponseEntity<Double> getAverageRating(@PathVariable Long productId) {
         return ResponseEntity.ok(reviewService.getAverageRating(productId));
     }
 
     // --- Get All Reviews for Admin Dashboard ---
     @GetMapping("/admin/all")
+    @SqlBudget(2)
     public ResponseEntity<List<Review>> getAllReviewsForAdmin() {
         return ResponseEntity.ok(reviewService.getAllReviews());
     }
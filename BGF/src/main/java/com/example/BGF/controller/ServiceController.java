@@ -2,6 +2,7 @@ package com.example.BGF.controller;
 
 import com.example.BGF.models.AppService;
 import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
 import com.example.BGF.service.ServiceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ public class ServiceController {
     }
 
     @GetMapping("/user/all")
+    @SqlBudget(2)
     public ResponseEntity<List<AppService>> getAll() {
         return ResponseEntity.ok(serviceService.getAllServices());
     }
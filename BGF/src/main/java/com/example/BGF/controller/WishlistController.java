@@ -0,0 +1,68 @@
+package com.example.BGF.controller;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.monitoring.SqlBudget;
+import com.example.BGF.service.WishlistService;
+import com.example.BGF.wishlist.WishlistedBy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// The signed-in user's wishlist, public "wishlisted by N" counts and, under
+// /admin (admin-only, see SecurityConfig), who wants what
+@RestController
+@RequestMapping("/api/wishlist")
+public class WishlistController {
+
+    private final WishlistService wishlistService;
+
+    public WishlistController(WishlistService wishlistService) {
+        this.wishlistService = wishlistService;
+    }
+
+    @GetMapping
+    @SqlBudget(2) // user lookup by the JWT filter + one multi-get of the products
+    public List<Product> getWishlist(@AuthenticationPrincipal User user) {
+        return wishlistService.getWishlist(user);
+    }
+
+    @PutMapping("/{productId}")
+    public ResponseEntity<?> add(@PathVariable Long productId, @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(Map.of("productId", productId, "wishlistedBy", wishlistService.add(user, productId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{productId}")
+    public Map<String, Object> remove(@PathVariable Long productId, @AuthenticationPrincipal User user) {
+        return Map.of("productId", productId, "wishlistedBy", wishlistService.remove(user, productId));
+    }
+
+    // Open to everyone: /api/wishlist/counts?productIds=3,1,2
+    @GetMapping("/counts")
+    @SqlBudget(1) // at most the JWT filter's user lookup: counts are held in memory
+    public Map<Long, Integer> getCounts(@RequestParam List<Long> productIds) {
+        return wishlistService.getCounts(productIds);
+    }
+
+    // /api/wishlist/admin/products/5/users?after=120&limit=100
+    @GetMapping("/admin/products/{productId}/users")
+    @SqlBudget(1)
+    public WishlistedBy getWishlistedBy(@PathVariable Long productId, @RequestParam(required = false) Long after,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        return wishlistService.getWishlistedBy(productId, after, Math.max(1, Math.min(limit, 1000)));
+    }
+
+    // Most wanted products: /api/wishlist/admin/demand?limit=20&outOfStock=true
+    @GetMapping("/admin/demand")
+    public List<Map<String, Object>> getDemand(@RequestParam(defaultValue = "20") int limit,
+                                               @RequestParam(defaultValue = "false") boolean outOfStock) {
+        return wishlistService.getDemand(Math.max(1, Math.min(limit, 200)), outOfStock);
+    }
+}
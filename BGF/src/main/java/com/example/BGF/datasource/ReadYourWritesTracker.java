@@ -0,0 +1,71 @@
+package com.example.BGF.datasource;
+
+import com.example.BGF.models.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers which users wrote recently so their next reads go to the primary
+// and they see their own changes even while the replicas catch up.
+@Component
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(@Value("${bgf.datasource.routing.sticky-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String username) {
+        if (username != null) {
+            stickyUntil.put(username, System.nanoTime() + windowNanos);
+        }
+    }
+
+    public void recordWriteForCurrentUser() {
+        recordWrite(currentUsername());
+    }
+
+    public boolean isCurrentUserSticky() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until >= 0) {
+            stickyUntil.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        stickyUntil.entrySet().removeIf(entry -> now - entry.getValue() >= 0);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        // JwtAuthFilter puts the User entity in as principal
+        if (authentication.getPrincipal() instanceof User user) {
+            return user.getUsername();
+        }
+        return authentication.getName();
+    }
+}
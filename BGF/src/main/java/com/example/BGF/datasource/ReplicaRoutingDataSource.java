@@ -0,0 +1,150 @@
+package com.example.BGF.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends @Transactional(readOnly = true) work to a healthy replica and
+// everything else to the primary. Must sit behind a
+// LazyConnectionDataSourceProxy so the routing decision happens after the
+// transaction's read-only flag is known.
+//
+// Owns its target pools: destroy() closes every one that can be closed.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final Map<String, Double> lagSeconds = new HashMap<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final double maxLagSeconds;
+    private final String lagQuery;
+
+    // Replicas currently within the lag threshold; replaced wholesale by checkReplicaLag()
+    private volatile String[] healthy;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    ReadYourWritesTracker readYourWrites, Duration maxLag, String lagQuery) {
+        this.readYourWrites = readYourWrites;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            replicas.put(key, replicaDataSources.get(i));
+            lagSeconds.put(key, 0.0);
+            targets.put(key, replicaDataSources.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        healthy = replicaKeys.toArray(new String[0]);
+    }
+
+    @Override
+    public void destroy() {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Closing {} failed: {}", target, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWriteForCurrentUser();
+            }
+            return PRIMARY;
+        }
+        if (readYourWrites.isCurrentUserSticky()) {
+            return PRIMARY;
+        }
+        String[] candidates = healthy;
+        if (candidates.length == 0) {
+            return PRIMARY;
+        }
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    // Called on a schedule: measures every replica and rebuilds the healthy set.
+    // A replica that can't report its lag counts as unhealthy.
+    public void checkReplicaLag() {
+        List<String> nowHealthy = new ArrayList<>();
+        for (String key : replicaKeys) {
+            double lag;
+            try {
+                lag = measureLag(replicas.get(key));
+            } catch (Exception e) {
+                log.warn("Lag check failed for {}: {}", key, e.getMessage());
+                lag = Double.POSITIVE_INFINITY;
+            }
+            synchronized (lagSeconds) {
+                lagSeconds.put(key, lag);
+            }
+            if (lag <= maxLagSeconds) {
+                nowHealthy.add(key);
+            }
+        }
+        if (nowHealthy.size() != healthy.length) {
+            log.info("Healthy replicas: {} of {}", nowHealthy.size(), replicaKeys.size());
+        }
+        healthy = nowHealthy.toArray(new String[0]);
+    }
+
+    public double getLagSeconds(String replicaKey) {
+        synchronized (lagSeconds) {
+            return lagSeconds.getOrDefault(replicaKey, Double.NaN);
+        }
+    }
+
+    public List<String> getReplicaKeys() {
+        return replicaKeys;
+    }
+
+    public int getHealthyReplicaCount() {
+        return healthy.length;
+    }
+
+    private double measureLag(DataSource replica) throws Exception {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (lagQuery != null && !lagQuery.isBlank()) {
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    if (!rs.next()) return Double.POSITIVE_INFINITY;
+                    double lag = rs.getDouble(1);
+                    return rs.wasNull() ? Double.POSITIVE_INFINITY : lag;
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) return Double.POSITIVE_INFINITY; // not replicating
+                long lag = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? Double.POSITIVE_INFINITY : lag; // NULL: replication stopped
+            }
+        }
+    }
+}
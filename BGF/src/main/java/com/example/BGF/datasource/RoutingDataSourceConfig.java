@@ -0,0 +1,79 @@
+package com.example.BGF.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+// Active only with bgf.datasource.routing.enabled=true; otherwise Spring Boot
+// builds the single spring.datasource pool as before. The pools are not beans
+// of their own, so Boot's Hikari metrics can't find them behind the router:
+// each gets hikaricp.* metrics here, tagged with its pool name, and the
+// router closes them on shutdown.
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(name = "bgf.datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             RoutingDataSourceProperties routing,
+                                                             ReadYourWritesTracker readYourWrites,
+                                                             MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            RoutingDataSourceProperties.Replica replica = routing.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(metrics);
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWrites,
+                routing.getMaxLag(), routing.getLagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ScheduledFuture<?> replicaLagMonitor(ReplicaRoutingDataSource routingDataSource, RoutingDataSourceProperties routing,
+                                    TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        for (String key : routingDataSource.getReplicaKeys()) {
+            Gauge.builder("bgf.datasource.replica.lag", routingDataSource, ds -> ds.getLagSeconds(key))
+                    .tag("replica", key)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("bgf.datasource.replica.healthy", routingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .register(meterRegistry);
+        return taskScheduler.scheduleWithFixedDelay(routingDataSource::checkReplicaLag, routing.getLagCheckInterval());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.BGF.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("bgf.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled = false;
+
+    // Read replicas; read-only transactions are spread across them round-robin
+    private List<Replica> replicas = new ArrayList<>();
+
+    // A replica further behind the primary than this is taken out of rotation
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    // Query returning the replica's lag in seconds as a single number.
+    // Blank means MySQL's SHOW REPLICA STATUS (Seconds_Behind_Source).
+    private String lagQuery = "";
+
+    // After a user's own write, their reads stay on the primary this long
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+
+    public Duration getLagCheckInterval() { return lagCheckInterval; }
+    public void setLagCheckInterval(Duration lagCheckInterval) { this.lagCheckInterval = lagCheckInterval; }
+
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+
+    public Duration getStickyWindow() { return stickyWindow; }
+    public void setStickyWindow(Duration stickyWindow) { this.stickyWindow = stickyWindow; }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
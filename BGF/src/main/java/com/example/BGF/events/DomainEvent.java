@@ -0,0 +1,14 @@
+package com.example.BGF.events;
+
+// Something that happened to one aggregate (an order, a product, ...).
+// Services publish these through ApplicationEventPublisher; OutboxRecorder
+// stores each one in the publishing transaction and OutboxDispatcher hands
+// it to the DomainEventSubscribers after commit. Implementations must
+// round-trip through Jackson, since undelivered events are replayed from
+// the outbox table.
+public interface DomainEvent {
+
+    String aggregateType();
+
+    Long aggregateId();
+}
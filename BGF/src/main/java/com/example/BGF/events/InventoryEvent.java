@@ -0,0 +1,38 @@
+package com.example.BGF.events;
+
+import com.example.BGF.models.InventoryMovement;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+// Published by InventoryService when a product's stock or low-stock
+// threshold changes. Subscribers append the movement (if any) to the log
+// and check the product against its threshold.
+public class InventoryEvent implements DomainEvent {
+
+    private final Long productId;
+    private final String productName;
+    private final Integer stock;
+    private final int threshold;
+    private final InventoryMovement movement; // null when only the threshold changed
+
+    @JsonCreator
+    public InventoryEvent(Long productId, String productName, Integer stock, int threshold,
+                          InventoryMovement movement) {
+        this.productId = productId;
+        this.productName = productName;
+        this.stock = stock;
+        this.threshold = threshold;
+        this.movement = movement;
+    }
+
+    @Override
+    public String aggregateType() { return "product"; }
+
+    @Override
+    public Long aggregateId() { return productId; }
+
+    public Long getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public Integer getStock() { return stock; }
+    public int getThreshold() { return threshold; }
+    public InventoryMovement getMovement() { return movement; }
+}
@@ -0,0 +1,51 @@
+package com.example.BGF.events;
+
+import com.example.BGF.models.Order;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.time.Instant;
+
+// Published by OrderService whenever an order is created or changes status
+public class OrderEvent implements DomainEvent {
+
+    public enum Type { CREATED, STATUS_CHANGED, CANCELLED }
+
+    private final Type type;
+    private final Long orderId;
+    private final Long userId;
+    private final String status;
+    private final double totalAmount;
+    private final Instant at;
+
+    public OrderEvent(Type type, Order order) {
+        this.type = type;
+        this.orderId = order.getId();
+        this.userId = order.getUser().getId();
+        this.status = order.getStatus();
+        this.totalAmount = order.getTotalAmount();
+        this.at = Instant.now();
+    }
+
+    @JsonCreator
+    OrderEvent(Type type, Long orderId, Long userId, String status, double totalAmount, Instant at) {
+        this.type = type;
+        this.orderId = orderId;
+        this.userId = userId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.at = at;
+    }
+
+    @Override
+    public String aggregateType() { return "order"; }
+
+    @Override
+    public Long aggregateId() { return orderId; }
+
+    public Type getType() { return type; }
+    public Long getOrderId() { return orderId; }
+    public Long getUserId() { return userId; }
+    public String getStatus() { return status; }
+    public double getTotalAmount() { return totalAmount; }
+    public Instant getAt() { return at; }
+}
@@ -0,0 +1,282 @@
+package com.example.BGF.events;
+
+import com.example.BGF.outbox.EventOnlySubscriber;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+// Pushes OrderEvents to the owning user's open SSE connections.
+//
+// Every event gets a node-wide increasing id and is kept in a small per-user
+// ring buffer, so a client reconnecting with Last-Event-ID gets what it
+// missed. If the gap is older than the buffer (or from before this node
+// started) the client is told to "resync", i.e. reload its order list.
+// Buffers of the least recently active users are dropped beyond
+// bgf.orders.stream.buffered-users; a client asking for anything before the
+// newest event dropped that way resyncs too, since it may have been theirs.
+//
+// Registration, replay, fan-out and heartbeats all run on one thread, so a
+// client never sees events out of order or twice.
+//
+// Streams are closed when the application stops, ahead of the web server's
+// graceful shutdown, which would otherwise wait out its timeout on them.
+// Clients reconnect elsewhere with their Last-Event-ID.
+@Component
+public class OrderEventStream implements EventOnlySubscriber, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventStream.class);
+
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "order-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Ids start at the node's boot time so they keep increasing across restarts
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private final AtomicLong sequence = new AtomicLong(firstId);
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean running;
+
+    // Only touched on the sender thread
+    private final Map<Long, List<SseEmitter>> emitters = new HashMap<>();
+    private final Map<Long, UserBuffer> buffers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserBuffer> eldest) {
+            if (size() <= maxBufferedUsers) {
+                return false;
+            }
+            droppedUpTo = Math.max(droppedUpTo, eldest.getValue().lastId());
+            return true;
+        }
+    };
+    // Newest event id in any dropped buffer
+    private long droppedUpTo;
+
+    @Value("${bgf.orders.stream.buffered-users:10000}")
+    private int maxBufferedUsers;
+
+    @Value("${bgf.orders.stream.max-connections:2000}")
+    private int maxConnections;
+
+    @Value("${bgf.orders.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${bgf.orders.stream.replay-buffer:32}")
+    private int replayBuffer;
+
+    @Value("${bgf.orders.stream.timeout:30m}")
+    private Duration timeout;
+
+    public OrderEventStream(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("bgf.orders.stream.connections", connections);
+    }
+
+    // Returns null when this node is at its connection cap or stopping
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        if (!running) {
+            return null;
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Runnable release = () -> sender.execute(() -> remove(userId, emitter));
+        emitter.onCompletion(release);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+
+        Long lastId = parseId(lastEventId);
+        sender.execute(() -> {
+            List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new ArrayList<>());
+            if (userEmitters.size() >= maxConnectionsPerUser) {
+                // Oldest tab loses; it reconnects and pushes out the next oldest at worst
+                userEmitters.remove(0).complete();
+            }
+            userEmitters.add(emitter);
+            send(emitter, SseEmitter.event().name("ready").data("{}").reconnectTime(RECONNECT_MILLIS));
+            if (lastId != null) {
+                replay(userId, lastId, emitter);
+            }
+        });
+        return emitter;
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(OrderEvent.class);
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        events.forEach(event -> onOrderEvent((OrderEvent) event));
+    }
+
+    private void onOrderEvent(OrderEvent event) {
+        long id = sequence.incrementAndGet();
+        sender.execute(() -> {
+            buffers.computeIfAbsent(event.getUserId(), u -> new UserBuffer(replayBuffer, droppedUpTo)).add(id, event);
+            List<SseEmitter> userEmitters = emitters.get(event.getUserId());
+            if (userEmitters != null) {
+                for (SseEmitter emitter : List.copyOf(userEmitters)) {
+                    send(emitter, toSse(id, event));
+                }
+            }
+        });
+    }
+
+    // Keeps proxies from closing idle connections and finds dead clients
+    @Scheduled(fixedRateString = "${bgf.orders.stream.heartbeat:15s}")
+    public void heartbeat() {
+        sender.execute(() -> emitters.values().stream()
+                .flatMap(List::stream)
+                .toList()
+                .forEach(emitter -> send(emitter, SseEmitter.event().comment("hb"))));
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        stop(() -> {
+        });
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        running = false;
+        sender.execute(() -> {
+            emitters.values().stream()
+                    .flatMap(List::stream)
+                    .toList()
+                    .forEach(SseEmitter::complete);
+            callback.run();
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void replay(Long userId, long lastId, SseEmitter emitter) {
+        UserBuffer buffer = buffers.get(userId);
+        long missingUpTo = buffer != null ? buffer.evictedUpTo : droppedUpTo;
+        if (lastId < firstId || lastId < missingUpTo) {
+            send(emitter, SseEmitter.event().name("resync").data("{}"));
+            return;
+        }
+        if (buffer != null) {
+            buffer.forEachAfter(lastId, (id, event) -> send(emitter, toSse(id, event)));
+        }
+    }
+
+    // Runs once per emitter, from its completion callback
+    private void remove(Long userId, SseEmitter emitter) {
+        connections.decrementAndGet();
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters != null && userEmitters.remove(emitter) && userEmitters.isEmpty()) {
+            emitters.remove(userId);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(long id, OrderEvent event) {
+        return SseEmitter.event()
+                .id(Long.toString(id))
+                .name("order")
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; onCompletion/onError removes it
+            log.debug("Dropping SSE client: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static Long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0L; // unknown id: force a resync
+        }
+    }
+
+    // Fixed-size ring of the user's most recent events. One made after other
+    // buffers were dropped counts their events as evicted, as the user's own
+    // earlier buffer may have been among them.
+    private static class UserBuffer {
+        private final long[] ids;
+        private final OrderEvent[] events;
+        private int next;
+        private int size;
+        private long evictedUpTo;
+
+        UserBuffer(int capacity, long evictedUpTo) {
+            ids = new long[capacity];
+            events = new OrderEvent[capacity];
+            this.evictedUpTo = evictedUpTo;
+        }
+
+        long lastId() {
+            return size == 0 ? evictedUpTo : ids[(next - 1 + ids.length) % ids.length];
+        }
+
+        void add(long id, OrderEvent event) {
+            if (size == ids.length) {
+                evictedUpTo = ids[next];
+            } else {
+                size++;
+            }
+            ids[next] = id;
+            events[next] = event;
+            next = (next + 1) % ids.length;
+        }
+
+        void forEachAfter(long lastId, BiConsumer<Long, OrderEvent> action) {
+            int start = (next - size + ids.length) % ids.length;
+            for (int i = 0; i < size; i++) {
+                int slot = (start + i) % ids.length;
+                if (ids[slot] > lastId) {
+                    action.accept(ids[slot], events[slot]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.BGF.events;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+// Published by ProductService after a product is added, updated or deleted.
+// Listeners that keep in-memory views of the catalog rebuild from it.
+public class ProductChangedEvent implements DomainEvent {
+
+    public enum Type { ADDED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long productId;
+
+    @JsonCreator
+    public ProductChangedEvent(Type type, Long productId) {
+        this.type = type;
+        this.productId = productId;
+    }
+
+    @Override
+    public String aggregateType() { return "product"; }
+
+    @Override
+    public Long aggregateId() { return productId; }
+
+    public Type getType() { return type; }
+    public Long getProductId() { return productId; }
+}
@@ -0,0 +1,34 @@
+package com.example.BGF.events;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+// Published by ReviewService when a review is created, edited or deleted;
+// the product's rating rollups depend on it.
+public class ReviewEvent implements DomainEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long reviewId;
+    private final Long productId;
+    private final int rating;
+
+    @JsonCreator
+    public ReviewEvent(Type type, Long reviewId, Long productId, int rating) {
+        this.type = type;
+        this.reviewId = reviewId;
+        this.productId = productId;
+        this.rating = rating;
+    }
+
+    @Override
+    public String aggregateType() { return "product"; }
+
+    @Override
+    public Long aggregateId() { return productId; }
+
+    public Type getType() { return type; }
+    public Long getReviewId() { return reviewId; }
+    public Long getProductId() { return productId; }
+    public int getRating() { return rating; }
+}
@@ -0,0 +1,75 @@
+package com.example.BGF.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// RFC 4180: a header line, CRLF line ends, fields quoted only when they hold
+// a comma, quote or line break. Null is an empty field. Text that a
+// spreadsheet would take for a formula (starting with =, +, -, @, tab or CR)
+// gets a leading ' so it opens as text; numbers are written as they are.
+class CsvRowWriter implements RowWriter {
+
+    private final Writer writer;
+    private final int columnCount;
+
+    CsvRowWriter(List<String> columns, OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.columnCount = columns.size();
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ResultSet rs) throws SQLException, IOException {
+        for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            Object value = RowWriter.value(rs, i);
+            if (value instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+            } else if (value instanceof String text) {
+                writeField(isFormula(text) ? "'" + text : text);
+            } else if (value != null) {
+                writeField(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char c = text.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
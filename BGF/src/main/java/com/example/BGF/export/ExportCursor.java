@@ -0,0 +1,24 @@
+package com.example.BGF.export;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Where an export resumes: after the row with this (created_at, id). The
+// token is those two values as exported, comma-separated, which is also how
+// a CSV row starts, e.g. "2026-03-01T10:15:30.123456,1234".
+public record ExportCursor(LocalDateTime createdAt, long id) {
+
+    public static ExportCursor parse(String token) {
+        int comma = token.lastIndexOf(',');
+        try {
+            return new ExportCursor(LocalDateTime.parse(token.substring(0, comma).trim()),
+                    Long.parseLong(token.substring(comma + 1).trim()));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor must be \"<created_at>,<id>\" of the last row received");
+        }
+    }
+
+    public String token() {
+        return createdAt + "," + id;
+    }
+}
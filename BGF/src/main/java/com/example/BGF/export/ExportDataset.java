@@ -0,0 +1,60 @@
+package com.example.BGF.export;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Tables that can be exported and the columns that may be asked for. Column
+// names go into the SQL as they are, so only these are accepted. Rows come
+// in keyset order, (created_at, id), which every table has an index for.
+public enum ExportDataset {
+    ORDERS("orders", "orders", List.of("user_id", "product_id", "quantity", "price", "total_amount",
+            "shipping_address", "payment_method", "notes", "status")),
+    // Finished orders moved out by OrderArchiver
+    ARCHIVED_ORDERS("archived-orders", "orders_archive", List.of("user_id", "product_id", "quantity", "price",
+            "total_amount", "shipping_address", "payment_method", "notes", "status", "archived_at")),
+    REVIEWS("reviews", "reviews", List.of("product_id", "user_id", "rating", "comment"));
+
+    // The keyset; always exported, first, so any row can be resumed after
+    public static final List<String> KEY_COLUMNS = List.of("created_at", "id");
+
+    private final String path;
+    private final String table;
+    private final List<String> columns;
+
+    ExportDataset(String path, String table, List<String> columns) {
+        this.path = path;
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public static ExportDataset of(String path) {
+        return Arrays.stream(values())
+                .filter(dataset -> dataset.path.equals(path))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown export: " + path));
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    // Key columns followed by the requested ones, or by all when none are
+    // requested
+    public List<String> select(List<String> requested) {
+        List<String> chosen = requested == null || requested.isEmpty() ? columns : requested;
+        for (String column : chosen) {
+            if (!columns.contains(column) && !KEY_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column for " + path + ": " + column
+                        + " (one of " + String.join(", ", columns) + ")");
+            }
+        }
+        return Stream.concat(KEY_COLUMNS.stream(), chosen.stream())
+                .distinct()
+                .toList();
+    }
+}
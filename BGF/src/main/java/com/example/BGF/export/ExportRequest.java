@@ -0,0 +1,15 @@
+package com.example.BGF.export;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One export: rows created in [from, to), after the cursor if given, at
+// most limit rows if given
+public record ExportRequest(ExportDataset dataset, List<String> columns, LocalDateTime from, LocalDateTime to,
+                            ExportCursor after, Integer limit, ExportFormat format) {
+
+    public String filename() {
+        return dataset.path() + "-" + from.toLocalDate() + "-" + to.toLocalDate().minusDays(1) + "."
+                + format.extension();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.BGF.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// One JSON object per line, keys in column order
+class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    NdjsonRowWriter(List<String> columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Lines are ended explicitly; no extra space before each object
+        generator.setRootValueSeparator(null);
+        this.columns = columns;
+    }
+
+    @Override
+    public void write(ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            generator.writeFieldName(columns.get(i));
+            generator.writeObject(RowWriter.value(rs, i + 1));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.BGF.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Writes export rows as they come off the cursor; nothing is kept between
+// rows. Timestamps are written as LocalDateTime.toString() in both formats,
+// so created_at and id read back from the output form an ExportCursor.
+public interface RowWriter extends AutoCloseable {
+
+    static RowWriter of(ExportFormat format, List<String> columns, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        return format == ExportFormat.CSV
+                ? new CsvRowWriter(columns, out)
+                : new NdjsonRowWriter(columns, out, objectMapper);
+    }
+
+    void write(ResultSet rs) throws SQLException, IOException;
+
+    @Override
+    void close() throws IOException;
+
+    // JDBC value -> what the formats write; null stays null
+    static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            // 12000000 rather than 1.2E7
+            return new BigDecimal(value.toString());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.BGF.images;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Product images on local disk, named by the SHA-256 of their bytes:
+// <dir>/<first two hex digits>/<hash>.<ext>. The same upload twice is one
+// file, and a name never changes content, so it can be cached forever.
+//
+// A store only reads the image's header; the pixels are decoded from the
+// stored file by the thumbnail threads. Thumbnails for each of
+// bgf.images.thumbnail-widths narrower than the original are made there,
+// next to it as <hash>-<width>.<ext>: JPEG for JPEG originals, PNG for the
+// rest, which may have transparency. Until then find() falls back to the
+// original and says so, so it is not cached as the thumbnail. At most
+// bgf.images.thumbnail-queue images wait; beyond that they are made when
+// first asked for.
+//
+// The files outlive the process, so bgf.images.dir should be a directory
+// that does too. Unset, it is ~/.bgf/images, with a warning at startup.
+@Component
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})\\.(jpg|png|gif|bmp)");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg", "png", "image/png", "gif", "image/gif", "bmp", "image/bmp");
+
+    // One file to serve: what to send and whether it is the final answer for
+    // the name and width asked for
+    public record Variant(Path path, String etag, String contentType, boolean settled) {
+    }
+
+    // What the header says, and the pixels when they were asked for
+    private record Decoded(String extension, int width, BufferedImage image) {
+    }
+
+    private final Path root;
+    private final int[] widths;
+    private final Timer thumbnailTimer;
+    private final Counter thumbnailsRejected;
+    // Hashes whose thumbnails are queued or being made
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor thumbnailer;
+
+    @Value("${bgf.images.max-pixels:25000000}")
+    private long maxPixels;
+
+    @Value("${bgf.images.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    public ImageStore(@Value("${bgf.images.dir:}") String dir,
+                      @Value("${bgf.images.thumbnail-widths:160,320,640}") int[] widths,
+                      @Value("${bgf.images.thumbnail-threads:2}") int threads,
+                      @Value("${bgf.images.thumbnail-queue:1000}") int queue,
+                      MeterRegistry meterRegistry) throws IOException {
+        if (dir.isBlank()) {
+            dir = Path.of(System.getProperty("user.home"), ".bgf", "images").toString();
+            log.warn("bgf.images.dir is not set; product images go to {}. Set it to a persistent directory.", dir);
+        }
+        this.root = Files.createDirectories(Path.of(dir));
+        this.widths = Arrays.stream(widths).sorted().distinct().toArray();
+        this.thumbnailTimer = Timer.builder("bgf.images.thumbnails").register(meterRegistry);
+        this.thumbnailsRejected = meterRegistry.counter("bgf.images.thumbnails.rejected");
+        int size = Math.max(1, threads);
+        this.thumbnailer = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)), r -> {
+            Thread thread = new Thread(r, "image-thumbnails");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("bgf.images.thumbnails.pending", pending, Set::size);
+    }
+
+    // Checks the bytes are an image of a supported type and size, stores
+    // them unless already there and queues the thumbnails still missing.
+    // Returns the name.
+    public String store(byte[] bytes) {
+        Decoded header;
+        try {
+            header = read(ImageIO.createImageInputStream(new ByteArrayInputStream(bytes)), false);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable image: " + e.getMessage());
+        }
+
+        String hash = sha256(bytes);
+        String name = hash + "." + header.extension();
+        Path original = path(hash, name);
+        try {
+            if (!Files.exists(original)) {
+                write(original, out -> Files.write(out, bytes));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        queueThumbnails(hash, header.extension(), header.width());
+        return name;
+    }
+
+    // The file for a stored name at about the given width (null for the
+    // original): the narrowest thumbnail at least that wide, else the
+    // original. Null for names that aren't stored.
+    public Variant find(String name, Integer width) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String hash = matcher.group(1);
+        String extension = matcher.group(2);
+        Path original = path(hash, name);
+        if (!Files.exists(original)) {
+            return null;
+        }
+        if (width == null) {
+            return new Variant(original, hash, CONTENT_TYPES.get(extension), true);
+        }
+        // Read first: once it is false, every thumbnail there will be is there
+        boolean settled = !pending.contains(hash);
+        Integer wanted = null;
+        for (int w : widths) {
+            if (w < width) {
+                continue;
+            }
+            wanted = wanted == null ? w : wanted;
+            Path thumbnail = thumbnail(hash, extension, w);
+            if (Files.exists(thumbnail)) {
+                // A wider one only stands in while the wanted one is made
+                boolean exact = w == wanted;
+                if (!exact && settled) {
+                    queueThumbnails(hash, extension, width(original));
+                }
+                return new Variant(thumbnail, hash + "-" + w, CONTENT_TYPES.get(thumbnailExtension(extension)), exact);
+            }
+        }
+        if (settled && wanted != null) {
+            // Due but not there: refused by a full queue, or lost in a restart
+            int originalWidth = width(original);
+            if (wanted < originalWidth) {
+                queueThumbnails(hash, extension, originalWidth);
+                settled = false;
+            }
+        }
+        return new Variant(original, hash, CONTENT_TYPES.get(extension), settled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailer.shutdownNow();
+    }
+
+    private void queueThumbnails(String hash, String extension, int originalWidth) {
+        boolean missing = Arrays.stream(widths)
+                .anyMatch(w -> w < originalWidth && !Files.exists(thumbnail(hash, extension, w)));
+        if (!missing || !pending.add(hash)) {
+            return;
+        }
+        try {
+            thumbnailer.execute(() -> makeThumbnails(hash, extension));
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            thumbnailsRejected.increment();
+        }
+    }
+
+    private void makeThumbnails(String hash, String extension) {
+        try {
+            thumbnailTimer.record(() -> {
+                BufferedImage image;
+                try {
+                    image = read(ImageIO.createImageInputStream(path(hash, hash + "." + extension).toFile()), true)
+                            .image();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                String thumbnailExtension = thumbnailExtension(extension);
+                for (int width : widths) {
+                    if (width >= image.getWidth()) {
+                        break;
+                    }
+                    Path target = thumbnail(hash, extension, width);
+                    if (Files.exists(target)) {
+                        continue;
+                    }
+                    BufferedImage scaled = scale(image, width, "png".equals(thumbnailExtension));
+                    try {
+                        write(target, out -> encode(scaled, thumbnailExtension, out));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Thumbnails for {} failed; the original will be served", hash, e);
+        } finally {
+            pending.remove(hash);
+        }
+    }
+
+    // Halves while more than twice too wide, then one last bilinear step:
+    // close to area averaging at a fraction of its cost
+    private static BufferedImage scale(BufferedImage image, int width, boolean alpha) {
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(1, (int) Math.round((double) image.getHeight() * w / image.getWidth()));
+            BufferedImage next = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > width);
+        return current;
+    }
+
+    private void encode(BufferedImage image, String extension, Path out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg".equals(extension) ? "jpeg" : extension).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(extension)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private interface FileWriter {
+        void write(Path path) throws IOException;
+    }
+
+    // Written next to the target and moved into place, so a reader sees the
+    // whole file or none
+    private static void write(Path target, FileWriter writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            writer.write(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The pixels are decoded only when asked for, and only once the size
+    // is known to be within bgf.images.max-pixels
+    private Decoded read(ImageInputStream stream, boolean pixels) throws IOException {
+        try (ImageInputStream input = stream) {
+            if (input == null) {
+                throw new IOException("no input");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Not a JPEG, PNG, GIF or BMP image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                String extension = extension(reader.getFormatName());
+                // Checked before decoding, so a small file can't claim a huge bitmap
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new IllegalArgumentException("Image is larger than " + maxPixels + " pixels");
+                }
+                return new Decoded(extension, reader.getWidth(0), pixels ? reader.read(0) : null);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Zero, so nothing is due, when the stored file can't be read
+    private int width(Path original) {
+        try {
+            return read(ImageIO.createImageInputStream(original.toFile()), false).width();
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Can't read the size of {}", original, e);
+            return 0;
+        }
+    }
+
+    private Path thumbnail(String hash, String extension, int width) {
+        return path(hash, hash + "-" + width + "." + thumbnailExtension(extension));
+    }
+
+    private Path path(String hash, String file) {
+        return root.resolve(hash.substring(0, 2)).resolve(file);
+    }
+
+    private static String extension(String formatName) {
+        String format = formatName.toLowerCase();
+        return switch (format) {
+            case "jpeg", "jpg" -> "jpg";
+            case "png", "gif", "bmp" -> format;
+            default -> throw new IllegalArgumentException("Not a JPEG, PNG, GIF or BMP image");
+        };
+    }
+
+    private static String thumbnailExtension(String extension) {
+        return "jpg".equals(extension) ? "jpg" : "png";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
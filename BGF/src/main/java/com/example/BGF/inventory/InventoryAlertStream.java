@@ -0,0 +1,96 @@
+package com.example.BGF.inventory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Pushes low-stock alerts to admin dashboards over SSE. A new connection
+// first gets a "snapshot" of every current alert, then one "alert" event
+// per change, so reconnecting needs no replay. Registration, fan-out and
+// heartbeats run on one thread, as in OrderEventStream.
+@Component
+public class InventoryAlertStream {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryAlertStream.class);
+
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "inventory-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger connections = new AtomicInteger();
+
+    // Only touched on the sender thread
+    private final List<SseEmitter> emitters = new ArrayList<>();
+
+    @Value("${bgf.inventory.alerts.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${bgf.inventory.alerts.timeout:30m}")
+    private Duration timeout;
+
+    public InventoryAlertStream(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("bgf.inventory.alerts.connections", connections);
+    }
+
+    // Returns null when this node is at its connection cap
+    public SseEmitter subscribe(Supplier<List<LowStockAlert>> snapshot) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> sender.execute(() -> {
+            connections.decrementAndGet();
+            emitters.remove(emitter);
+        }));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+
+        sender.execute(() -> {
+            emitters.add(emitter);
+            send(emitter, SseEmitter.event().name("snapshot").data(snapshot.get(), MediaType.APPLICATION_JSON)
+                    .reconnectTime(RECONNECT_MILLIS));
+        });
+        return emitter;
+    }
+
+    public void publish(LowStockAlert alert) {
+        sender.execute(() -> {
+            for (SseEmitter emitter : List.copyOf(emitters)) {
+                send(emitter, SseEmitter.event().name("alert").data(alert, MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    @Scheduled(fixedRateString = "${bgf.inventory.alerts.heartbeat:15s}")
+    public void heartbeat() {
+        sender.execute(() -> List.copyOf(emitters).forEach(emitter -> send(emitter, SseEmitter.event().comment("hb"))));
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; onCompletion removes it
+            log.debug("Dropping SSE client: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+}
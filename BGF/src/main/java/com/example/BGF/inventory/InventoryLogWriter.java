@@ -0,0 +1,74 @@
+package com.example.BGF.inventory;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.InventoryEvent;
+import com.example.BGF.models.InventoryMovement;
+import com.example.BGF.outbox.DomainEventSubscriber;
+import com.example.BGF.outbox.OutboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Appends stock movements to inventory_movements. Movements arrive in
+// outbox batches, and each batch is one JDBC batch insert, so a burst of
+// orders costs a few multi-row inserts instead of an insert per order.
+//
+// Each row keeps the outbox id of its event. Movements already written by
+// an earlier delivery are skipped, and the unique key on event_id fails a
+// batch that races another delivery of the same events; the retry then
+// skips them.
+@Component
+public class InventoryLogWriter implements DomainEventSubscriber {
+
+    private static final String INSERT = "INSERT INTO inventory_movements " +
+            "(event_id, product_id, type, quantity_change, stock_after, order_id, actor, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter written;
+
+    public InventoryLogWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.written = meterRegistry.counter("bgf.inventory.log.rows");
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(InventoryEvent.class);
+    }
+
+    @Override
+    public void onEntries(List<OutboxEntry> entries) {
+        Map<Long, InventoryMovement> movements = new LinkedHashMap<>();
+        for (OutboxEntry entry : entries) {
+            InventoryMovement m = ((InventoryEvent) entry.event()).getMovement();
+            if (m != null) {
+                movements.put(entry.id(), m);
+            }
+        }
+        if (movements.isEmpty()) {
+            return;
+        }
+        String ids = movements.keySet().stream().map(String::valueOf).collect(Collectors.joining(","));
+        jdbcTemplate.queryForList("SELECT event_id FROM inventory_movements WHERE event_id IN (" + ids + ")",
+                Long.class).forEach(movements::remove);
+
+        List<Object[]> rows = new ArrayList<>(movements.size());
+        movements.forEach((eventId, m) -> rows.add(new Object[]{eventId, m.getProductId(), m.getType(),
+                m.getQuantityChange(), m.getStockAfter(), m.getOrderId(), m.getActor(),
+                Timestamp.valueOf(m.getCreatedAt())}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+            written.increment(rows.size());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.BGF.inventory;
+
+import java.time.Instant;
+
+// A product at or below its low-stock threshold, or the notice that it no
+// longer is (RESOLVED). Pushed to admins by InventoryAlertStream.
+public record LowStockAlert(Long productId, String productName, Integer stock, int threshold,
+                            String level, Instant at) {
+
+    public static final String LOW = "LOW";
+    public static final String OUT = "OUT";
+    public static final String RESOLVED = "RESOLVED";
+}
@@ -0,0 +1,103 @@
+package com.example.BGF.inventory;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.InventoryEvent;
+import com.example.BGF.events.ProductChangedEvent;
+import com.example.BGF.outbox.EventOnlySubscriber;
+import com.example.BGF.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps the set of products that are low on stock. Each delivered movement
+// carries the new stock and the product's threshold, so only that product
+// is re-evaluated; the catalog is read once at startup to seed the set.
+// Entering, changing within and leaving the low state are pushed to admins.
+@Component
+public class LowStockWatcher implements EventOnlySubscriber {
+
+    private final ProductRepository productRepository;
+    private final InventoryAlertStream alertStream;
+    private final Map<Long, LowStockAlert> active = new ConcurrentHashMap<>();
+
+    @Value("${bgf.inventory.low-stock-threshold:5}")
+    private int defaultThreshold;
+
+    public LowStockWatcher(ProductRepository productRepository, InventoryAlertStream alertStream,
+                           MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.alertStream = alertStream;
+        meterRegistry.gauge("bgf.inventory.low_stock", active, Map::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Instant now = Instant.now();
+        for (Object[] row : productRepository.findLowStock(defaultThreshold)) {
+            Integer stock = (Integer) row[2];
+            int threshold = ((Number) row[3]).intValue();
+            active.putIfAbsent((Long) row[0], new LowStockAlert((Long) row[0], (String) row[1], stock, threshold,
+                    level(stock), now));
+        }
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(InventoryEvent.class, ProductChangedEvent.class);
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof InventoryEvent inventory) {
+                onInventoryEvent(inventory);
+            } else if (event instanceof ProductChangedEvent changed
+                    && changed.getType() == ProductChangedEvent.Type.DELETED) {
+                resolve(changed.getProductId());
+            }
+        }
+    }
+
+    private void onInventoryEvent(InventoryEvent event) {
+        Long productId = event.getProductId();
+        Integer stock = event.getStock();
+        if (stock != null && stock <= event.getThreshold()) {
+            LowStockAlert alert = new LowStockAlert(productId, event.getProductName(), stock, event.getThreshold(),
+                    level(stock), Instant.now());
+            LowStockAlert previous = active.put(productId, alert);
+            if (previous == null || !previous.stock().equals(stock) || previous.threshold() != alert.threshold()) {
+                alertStream.publish(alert);
+            }
+        } else {
+            resolve(productId);
+        }
+    }
+
+    // Lowest stock first
+    public List<LowStockAlert> current() {
+        return active.values().stream()
+                .sorted(Comparator.comparing(LowStockAlert::stock).thenComparing(LowStockAlert::productId))
+                .toList();
+    }
+
+    private void resolve(Long productId) {
+        LowStockAlert previous = active.remove(productId);
+        if (previous != null) {
+            alertStream.publish(new LowStockAlert(productId, previous.productName(), null, previous.threshold(),
+                    LowStockAlert.RESOLVED, Instant.now()));
+        }
+    }
+
+    private static String level(int stock) {
+        return stock <= 0 ? LowStockAlert.OUT : LowStockAlert.LOW;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.BGF.loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fills the embedded database with N users, products, orders and reviews.
+// Uses plain JDBC batches so a few hundred thousand rows load in seconds.
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    public static final String[] CATEGORIES = {"cricket", "football", "indoor-games", "gym", "tennis", "swimming"};
+    public static final String[] NAME_WORDS = {"Pro", "Elite", "Training", "Match", "Junior", "Premium",
+            "Bat", "Ball", "Gloves", "Helmet", "Shoes", "Mat", "Net", "Racket", "Bag", "Cones"};
+    private static final String[] STATUSES = {"PENDING", "PROCESSING", "SHIPPED", "DELIVERED", "CANCELLED"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${loadtest.seed.users:1000}")
+    private int users;
+
+    @Value("${loadtest.seed.products:2000}")
+    private int products;
+
+    @Value("${loadtest.seed.orders:20000}")
+    private int orders;
+
+    @Value("${loadtest.seed.reviews:20000}")
+    private int reviews;
+
+    @Value("${loadtest.seed.password:password}")
+    private String password;
+
+    public LoadTestDataSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(42);
+        // One hash for every account: BCrypt is deliberately slow
+        String hash = new BCryptPasswordEncoder().encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"admin", hash, "ADMIN", "admin@loadtest.local", "Load Test Admin", now, now});
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{"user" + i, hash, "USER", "user" + i + "@loadtest.local", "User " + i, now, now});
+        }
+        batch("INSERT INTO users (username, password, role, email, full_name, active, available, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, TRUE, TRUE, ?, ?)", rows);
+        long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'admin'", Long.class);
+        long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE role = 'USER'", Long.class);
+
+        for (int i = 0; i < products; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            String name = NAME_WORDS[random.nextInt(6)] + " " + NAME_WORDS[6 + random.nextInt(10)] + " " + i;
+            rows.add(new Object[]{name, "Synthetic " + category + " product " + i,
+                    100.0 + random.nextInt(50_000), random.nextInt(100), category,
+                    "https://img.example.com/products/" + i + ".png", adminId});
+        }
+        batch("INSERT INTO products (name, description, price, stock, category, image_url, admin_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        long firstProductId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+
+        for (int i = 0; i < orders; i++) {
+            int quantity = 1 + random.nextInt(3);
+            double price = 100.0 + random.nextInt(50_000);
+            LocalDateTime createdAt = LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 365));
+            rows.add(new Object[]{firstUserId + random.nextInt(users), firstProductId + random.nextInt(products),
+                    quantity, price, price * quantity, "No. " + i + ", Main Street, Colombo", "CARD",
+                    STATUSES[random.nextInt(STATUSES.length)], Timestamp.valueOf(createdAt)});
+        }
+        batch("INSERT INTO orders (user_id, product_id, quantity, price, total_amount, shipping_address, payment_method, status, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        for (int i = 0; i < reviews; i++) {
+            LocalDateTime createdAt = LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 365));
+            rows.add(new Object[]{1 + random.nextInt(5), "Synthetic review " + i,
+                    firstUserId + random.nextInt(users), firstProductId + random.nextInt(products),
+                    Timestamp.valueOf(createdAt)});
+        }
+        batch("INSERT INTO reviews (rating, comment, user_id, product_id, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+        // Hibernate didn't see these inserts: drop anything cached before them
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        log.info("Seeded {} users, {} products, {} orders, {} reviews in {} ms",
+                users, products, orders, reviews, System.currentTimeMillis() - start);
+    }
+
+    // Flushes the rows in fixed-size batches and clears the list for reuse
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.BGF.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service")
 @Table(name = "services")
 public class AppService {
     @Id
@@ -0,0 +1,48 @@
+package com.example.BGF.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import java.time.LocalDateTime;
+
+// A finished order moved out of the orders table by OrderArchiver. Keeps its
+// original id; never changes again.
+@Entity
+@Immutable
+@Table(name = "orders_archive")
+public class ArchivedOrder extends BaseOrder {
+
+    @Id
+    private Long id;
+
+    // The partitioned archive has no foreign keys, so the user or product
+    // may since have been deleted
+    @ManyToOne
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    // The bare key for lookups: a @NotFound association is compared through a join
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long userId;
+
+    private LocalDateTime archivedAt;
+
+    @Override
+    public Long getId() { return id; }
+
+    @Override
+    public User getUser() { return user; }
+
+    @Override
+    public Product getProduct() { return product; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,54 @@
+package com.example.BGF.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Columns shared by live orders (Order) and their archived copies (ArchivedOrder)
+@MappedSuperclass
+public abstract class BaseOrder {
+
+    private int quantity;
+
+    private double price; // price per item
+
+    @Column(name = "total_amount", nullable = false)
+    private double totalAmount; // total = price * quantity
+
+    private String shippingAddress;
+    private String paymentMethod;
+    private String notes;
+    private String status = "PENDING";
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public abstract Long getId();
+
+    public abstract User getUser();
+
+    public abstract Product getProduct();
+
+    // Getters and Setters
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+
+    public double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(double totalAmount) { this.totalAmount = totalAmount; }
+
+    public String getShippingAddress() { return shippingAddress; }
+    public void setShippingAddress(String shippingAddress) { this.shippingAddress = shippingAddress; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,72 @@
+package com.example.BGF.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// A customer's hold on a service's provider for [startTime, endTime). Created
+// and cancelled only through BookingService, which keeps the provider's
+// in-memory calendar in step.
+@Entity
+@Table(name = "bookings")
+public class Booking {
+
+    public static final String BOOKED = "BOOKED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "service_id", nullable = false)
+    private AppService service;
+
+    // The service's provider when booked; calendars are per provider
+    @Column(nullable = false)
+    private Long providerId;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private User customer;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(nullable = false, length = 20)
+    private String status = BOOKED;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public Booking() {
+    }
+
+    public Booking(AppService service, User customer, LocalDateTime startTime, LocalDateTime endTime) {
+        this.service = service;
+        this.providerId = service.getProvider().getId();
+        this.customer = customer;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getId() { return id; }
+
+    public AppService getService() { return service; }
+
+    public Long getProviderId() { return providerId; }
+
+    public User getCustomer() { return customer; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
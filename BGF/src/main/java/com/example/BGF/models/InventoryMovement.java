@@ -0,0 +1,82 @@
+package com.example.BGF.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One change to a product's stock. Rows are only ever inserted, in batches,
+// by InventoryLogWriter; the entity is mapped for reading the history.
+@Entity
+@Table(name = "inventory_movements")
+public class InventoryMovement {
+
+    public static final String RESTOCK = "RESTOCK";
+    public static final String RESERVATION = "RESERVATION";
+    public static final String CANCELLATION = "CANCELLATION";
+    public static final String ADJUSTMENT = "ADJUSTMENT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    @Column(nullable = false)
+    private int quantityChange; // negative when stock goes out
+
+    private Integer stockAfter;
+
+    private Long orderId; // set for reservations and cancellations
+
+    private String actor; // username of the admin, for restocks and adjustments
+
+    private Long eventId; // outbox id of the event that carried it; null for rows from before it was kept
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public InventoryMovement() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public InventoryMovement(Long productId, String type, int quantityChange, Integer stockAfter,
+                             Long orderId, String actor) {
+        this();
+        this.productId = productId;
+        this.type = type;
+        this.quantityChange = quantityChange;
+        this.stockAfter = stockAfter;
+        this.orderId = orderId;
+        this.actor = actor;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getQuantityChange() { return quantityChange; }
+    public void setQuantityChange(int quantityChange) { this.quantityChange = quantityChange; }
+
+    public Integer getStockAfter() { return stockAfter; }
+    public void setStockAfter(Integer stockAfter) { this.stockAfter = stockAfter; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public String getActor() { return actor; }
+    public void setActor(String actor) { this.actor = actor; }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
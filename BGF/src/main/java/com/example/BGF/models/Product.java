@@ -1,8 +1,13 @@
 package com.example.BGF.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Read far more than written; stock moves update the cached entry on commit
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @Table(name = "products")
 public class Product {
     @Id
@@ -22,6 +27,8 @@ public class Product {
 
     private String imageUrl; // <-- Added image URL field
 
+    private Integer lowStockThreshold; // null: bgf.inventory.low-stock-threshold
+
     // Relationship with User (optional, admin who added)
     @ManyToOne
     @JoinColumn(name = "admin_id")
@@ -49,6 +56,9 @@ public class Product {
     public String getImageUrl() { return imageUrl; } // Getter for imageUrl
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; } // Setter for imageUrl
 
+    public Integer getLowStockThreshold() { return lowStockThreshold; }
+    public void setLowStockThreshold(Integer lowStockThreshold) { this.lowStockThreshold = lowStockThreshold; }
+
     public User getAdmin() { return admin; }
     public void setAdmin(User admin) { this.admin = admin; }
 }
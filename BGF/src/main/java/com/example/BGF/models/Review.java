@@ -19,11 +19,11 @@ public class Review {
     private LocalDateTime createdAt;
 
     // --- Relationships ---
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user; // Reviewer
 
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product; // Reviewed product
 
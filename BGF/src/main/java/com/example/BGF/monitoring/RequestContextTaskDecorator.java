@@ -0,0 +1,38 @@
+package com.example.BGF.monitoring;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+// Carries the submitting thread's request context over to executor threads:
+// the MDC (traceId), so work fanned out for a request still logs under the
+// request's id, and its SqlRequestStats, so the queries that work runs
+// count against the request's SQL budget and N+1 check.
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        SqlRequestStats stats = SqlRequestStats.current();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            SqlRequestStats previousStats = SqlRequestStats.attach(stats);
+            if (context != null) {
+                MDC.setContextMap(context);
+            } else {
+                MDC.clear();
+            }
+            try {
+                runnable.run();
+            } finally {
+                SqlRequestStats.attach(previousStats);
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.BGF.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Gives every request a trace id (taken from X-Request-Id when the caller
+// sent a sane one) and puts it in the MDC, so every log event written by
+// controllers and services for this request carries it.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_HEADER = "X-Request-Id";
+    public static final String TRACE_KEY = "traceId";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("bgf.access");
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{8,64}");
+
+    @Value("${bgf.logging.access-log:false}")
+    private boolean accessLogEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String traceId = request.getHeader(TRACE_HEADER);
+        if (traceId == null || !VALID_ID.matcher(traceId).matches()) {
+            traceId = newTraceId();
+        }
+        MDC.put(TRACE_KEY, traceId);
+        response.setHeader(TRACE_HEADER, traceId);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (accessLogEnabled && accessLog.isInfoEnabled()) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                accessLog.info("{} {} {} {}ms route={}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), (System.nanoTime() - start) / 1_000_000, route);
+            }
+            MDC.remove(TRACE_KEY);
+        }
+    }
+
+    // 128 random bits as hex; cheaper than UUID.randomUUID(), which uses SecureRandom
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE) + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+}
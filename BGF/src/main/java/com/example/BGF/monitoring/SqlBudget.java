@@ -0,0 +1,14 @@
+package com.example.BGF.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximum number of SQL statements one call to the annotated endpoint may run.
+// Checked by SqlBudgetFilter; tests turn violations into failures.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
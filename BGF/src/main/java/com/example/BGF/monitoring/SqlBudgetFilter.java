@@ -0,0 +1,168 @@
+package com.example.BGF.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Counts SQL statements and JDBC time per request, reports them as response
+// headers and metrics, flags repeated same-shape queries (N+1) and checks
+// the endpoint's @SqlBudget.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String REPEATED_HEADER = "X-SQL-Repeated";
+    public static final String BUDGET_HEADER = "X-SQL-Budget";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reportedShapes = ConcurrentHashMap.newKeySet();
+
+    @Value("${bgf.sql.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${bgf.sql.budget.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        SqlHeaderResponse wrapped = new SqlHeaderResponse(request, response, stats);
+        try {
+            filterChain.doFilter(request, wrapped);
+            wrapped.writeHeaders();
+        } finally {
+            SqlRequestStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        String uri = uri(request);
+        DistributionSummary.builder("bgf.sql.statements")
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("bgf.sql.time")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = stats.repeatedShapes(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("bgf.sql.repeated", "uri", uri).increment();
+            repeated.forEach((shape, count) -> {
+                // Log each offending query once; the counter keeps the rate
+                if (reportedShapes.size() < 1000 && reportedShapes.add(uri + shape)) {
+                    log.warn("Possible N+1 on {}: query ran {} times in one request: {}", uri, count, shape);
+                }
+            });
+        }
+
+        Integer budget = budget(request);
+        if (budget != null && stats.getStatements() > budget) {
+            meterRegistry.counter("bgf.sql.budget.exceeded", "uri", uri).increment();
+            log.warn("SQL budget exceeded on {}: {} statements, budget {}", uri, stats.getStatements(), budget);
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static Integer budget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+            return budget != null ? budget.value() : null;
+        }
+        return null;
+    }
+
+    // Headers must be set before the body commits the response, so they are
+    // written the moment the controller's output starts, when all the
+    // request's queries have already run.
+    private class SqlHeaderResponse extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+        private final SqlRequestStats stats;
+        private boolean headersWritten;
+
+        SqlHeaderResponse(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        void writeHeaders() {
+            if (headersWritten) {
+                return;
+            }
+            headersWritten = true;
+            Integer budget = budget(request);
+            if (failOnViolation && budget != null && stats.getStatements() > budget) {
+                throw new IllegalStateException("SQL budget exceeded for " + request.getRequestURI()
+                        + ": " + stats.getStatements() + " statements, budget " + budget);
+            }
+            if (isCommitted()) {
+                return;
+            }
+            setHeader(COUNT_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(TIME_HEADER, String.format("%.2f", stats.getNanos() / 1_000_000.0));
+            setHeader(REPEATED_HEADER, String.valueOf(stats.repeatedShapes(repeatThreshold).size()));
+            if (budget != null) {
+                setHeader(BUDGET_HEADER, String.valueOf(budget));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.BGF.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// SQL statements seen while serving one HTTP request. Work the request fans
+// out to other threads is attached to the same instance (see
+// RequestContextTaskDecorator), so it is updated concurrently.
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new ConcurrentHashMap<>();
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // Makes 'stats' (null for none) the current thread's; returns what was there
+    public static SqlRequestStats attach(SqlRequestStats stats) {
+        SqlRequestStats previous = CURRENT.get();
+        if (stats != null) {
+            CURRENT.set(stats);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    void recordStatement(String sql) {
+        statements.incrementAndGet();
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    void recordTime(long elapsedNanos) {
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getNanos() {
+        return nanos.get();
+    }
+
+    // Shapes executed at least 'threshold' times: the N in an N+1
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) repeated.put(shape, count);
+        });
+        return repeated;
+    }
+
+    // Literals and IN-list lengths don't change the shape of a query
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+}
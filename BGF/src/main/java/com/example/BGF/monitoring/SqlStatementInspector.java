@@ -0,0 +1,16 @@
+package com.example.BGF.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts every statement Hibernate prepares against the current request
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.BGF.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+// One instance per Hibernate session; adds JDBC execution time to the current request
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private void record(long start) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null && start != 0) {
+            stats.recordTime(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.BGF.outbox;
+
+import com.example.BGF.events.DomainEvent;
+
+import java.util.List;
+import java.util.Set;
+
+// A side effect of domain events, run off the request thread. Every
+// subscriber bean gets its own delivery thread from OutboxDispatcher and
+// sees its events in outbox order, in batches. A batch that throws is
+// retried, and delivery is at-least-once across restarts, so handling the
+// same event twice must be harmless.
+//
+// The outbox ids in each entry serve as idempotency keys; subscribers that
+// only need the events implement EventOnlySubscriber.
+public interface DomainEventSubscriber {
+
+    // Event classes to receive
+    Set<Class<? extends DomainEvent>> eventTypes();
+
+    void onEntries(List<OutboxEntry> entries);
+}
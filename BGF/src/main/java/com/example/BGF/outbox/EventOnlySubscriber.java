@@ -0,0 +1,16 @@
+package com.example.BGF.outbox;
+
+import com.example.BGF.events.DomainEvent;
+
+import java.util.List;
+
+// A DomainEventSubscriber that has no use for the outbox ids
+public interface EventOnlySubscriber extends DomainEventSubscriber {
+
+    void onEvents(List<DomainEvent> events);
+
+    @Override
+    default void onEntries(List<OutboxEntry> entries) {
+        onEvents(entries.stream().map(OutboxEntry::event).toList());
+    }
+}
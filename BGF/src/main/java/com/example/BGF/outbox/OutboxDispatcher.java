@@ -0,0 +1,419 @@
+package com.example.BGF.outbox;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.util.RingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+// Delivers committed outbox events to the DomainEventSubscribers.
+//
+// OutboxRecorder hands events over after commit through a lock-free ring
+// buffer. One dispatcher thread drains it in batches, sorts each batch by
+// outbox id and gives every subscriber its slice on that subscriber's own
+// thread, so subscribers run in parallel but each sees events in commit
+// order (and so in order per aggregate). The next batch starts once all
+// subscribers are done with this one; then the rows are marked dispatched.
+//
+// Order holds because no event goes around the ring: a committer waits
+// while the ring is full, and marking a batch dispatched is retried rather
+// than left to the poller. On start, rows the last run left undispatched
+// (crash, shutdown) are delivered in id order before anything new.
+//
+// A subscriber that keeps failing is retried with backoff and then skipped
+// for that batch: its events are counted in bgf.outbox.dead_letters and
+// recorded in outbox_dead_letters, which keeps their rows from being purged.
+// Rows that still show up undispatched while running (written around the
+// recorder, or handed over from a delivery thread while the ring was full)
+// are replayed by the poller; only these can arrive after newer events.
+@Component
+public class OutboxDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final RingBuffer<OutboxEntry> ring;
+    private final List<Lane> lanes;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter dispatched;
+    private final Counter overflow;
+    private final Counter waits;
+    private final Counter redelivered;
+
+    // Ids queued or being delivered, so the poller doesn't queue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // Ids queued by the poller, and every id up to the last one delivered on
+    // start: these may have been delivered since they were read, so they
+    // are checked against the table before going out again
+    private final Set<Long> replays = ConcurrentHashMap.newKeySet();
+    private volatile long recoveredUpTo;
+    // The dispatcher and lane threads, which must never wait for ring space
+    private final Set<Thread> deliveryThreads = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    @Value("${bgf.outbox.batch-size:256}")
+    private int batchSize;
+
+    @Value("${bgf.outbox.delivery-attempts:4}")
+    private int deliveryAttempts;
+
+    @Value("${bgf.outbox.retry-backoff:50ms}")
+    private Duration retryBackoff;
+
+    @Value("${bgf.outbox.redeliver-after:5s}")
+    private Duration redeliverAfter;
+
+    @Value("${bgf.outbox.max-redeliveries:10}")
+    private int maxRedeliveries;
+
+    @Value("${bgf.outbox.retention:24h}")
+    private Duration retention;
+
+    public OutboxDispatcher(List<DomainEventSubscriber> subscribers, JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${bgf.outbox.ring-size:4096}") int ringSize) {
+        this.ring = new RingBuffer<>(ringSize);
+        this.lanes = subscribers.stream().map(subscriber -> new Lane(subscriber, meterRegistry)).toList();
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dispatched = meterRegistry.counter("bgf.outbox.dispatched");
+        this.overflow = meterRegistry.counter("bgf.outbox.ring.overflow");
+        this.waits = meterRegistry.counter("bgf.outbox.ring.waits");
+        this.redelivered = meterRegistry.counter("bgf.outbox.redelivered");
+        meterRegistry.gauge("bgf.outbox.ring.size", ring, RingBuffer::size);
+    }
+
+    // Called after commit. Waits while the ring is full, so a later event
+    // can't overtake this one; that wait is the backpressure on committers.
+    // False if the entry was not queued.
+    boolean enqueue(OutboxEntry entry) {
+        if (!inFlight.add(entry.id())) {
+            return false;
+        }
+        boolean waited = false;
+        while (!ring.offer(entry)) {
+            if (!running || deliveryThreads.contains(Thread.currentThread())) {
+                // Stopping (replayed on the next start), or a delivery thread
+                // that would wait on itself: left to the poller
+                inFlight.remove(entry.id());
+                overflow.increment();
+                return false;
+            }
+            if (!waited) {
+                waited = true;
+                waits.increment();
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        LockSupport.unpark(thread);
+        return true;
+    }
+
+    private void run() {
+        try {
+            recover();
+        } catch (RuntimeException e) {
+            log.error("Outbox recovery failed; the poller will replay what is left", e);
+        }
+        List<OutboxEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (ring.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                dispatch(batch);
+            } catch (RuntimeException e) {
+                // Rows stay undispatched and come back through the poller
+                log.error("Outbox dispatch of {} events failed", batch.size(), e);
+            } finally {
+                batch.forEach(entry -> inFlight.remove(entry.id()));
+                batch.clear();
+            }
+        }
+    }
+
+    // Delivers what the last run left undispatched, in id order, before
+    // anything from the ring
+    private void recover() {
+        Long last = jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_events WHERE dispatched_at IS NULL",
+                Long.class);
+        long after = 0;
+        List<OutboxEntry> batch = new ArrayList<>(batchSize);
+        while (running && last != null && after < last) {
+            List<Object[]> rows = jdbcTemplate.query("SELECT id, event_type, payload FROM outbox_events " +
+                            "WHERE dispatched_at IS NULL AND attempts < ? AND id > ? AND id <= ? ORDER BY id LIMIT ?",
+                    OutboxDispatcher::row, maxRedeliveries, after, last, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            after = (Long) rows.get(rows.size() - 1)[0];
+            // Raised before delivering: a copy of these still in the ring is checked first
+            recoveredUpTo = after;
+            for (Object[] row : rows) {
+                OutboxEntry entry = load(row);
+                if (entry != null) {
+                    batch.add(entry);
+                }
+            }
+            if (!batch.isEmpty()) {
+                redelivered.increment(batch.size());
+                dispatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<OutboxEntry> drained) {
+        List<OutboxEntry> batch = new ArrayList<>(drained);
+        batch.sort(Comparator.comparingLong(OutboxEntry::id));
+        skipAlreadyDispatched(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(lanes.size());
+        List<DeadLetter> deadLetters = Collections.synchronizedList(new ArrayList<>());
+        for (Lane lane : lanes) {
+            List<OutboxEntry> entries = batch.stream().filter(entry -> lane.accepts(entry.event())).toList();
+            if (!entries.isEmpty()) {
+                deliveries.add(CompletableFuture.runAsync(() -> lane.deliver(entries, deadLetters), lane.executor));
+            }
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+        recordDeadLetters(deadLetters);
+
+        markDispatched(ids(batch));
+        dispatched.increment(batch.size());
+    }
+
+    // A replayed entry may have gone out since it was read: the poller can
+    // read a row just before its first delivery is marked
+    private void skipAlreadyDispatched(List<OutboxEntry> batch) {
+        long upTo = recoveredUpTo;
+        List<OutboxEntry> check = new ArrayList<>();
+        for (OutboxEntry entry : batch) {
+            boolean replayed = replays.remove(entry.id());
+            if (replayed || entry.id() <= upTo) {
+                check.add(entry);
+            }
+        }
+        if (check.isEmpty()) {
+            return;
+        }
+        Set<Long> pending = Set.copyOf(jdbcTemplate.queryForList("SELECT id FROM outbox_events " +
+                "WHERE dispatched_at IS NULL AND id IN (" + ids(check) + ")", Long.class));
+        check.stream().filter(entry -> !pending.contains(entry.id())).forEach(batch::remove);
+    }
+
+    // Retried until it works: left to the poller, the batch would be
+    // delivered again after newer events
+    private void markDispatched(String ids) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update("UPDATE outbox_events SET dispatched_at = ? WHERE id IN (" + ids + ")",
+                        Timestamp.valueOf(LocalDateTime.now()));
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    throw e; // delivered again, first, on the next start
+                }
+                log.warn("Marking outbox events dispatched failed (attempt {}), retrying", attempt, e);
+                LockSupport.parkNanos(retryBackoff.toNanos() << Math.min(attempt - 1, 6));
+            }
+        }
+    }
+
+    private static String ids(List<OutboxEntry> entries) {
+        return entries.stream().map(entry -> Long.toString(entry.id())).collect(Collectors.joining(","));
+    }
+
+    private void recordDeadLetters(List<DeadLetter> deadLetters) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (DeadLetter deadLetter : deadLetters) {
+            String error = deadLetter.error().toString();
+            error = error.length() > 1000 ? error.substring(0, 1000) : error;
+            for (OutboxEntry entry : deadLetter.entries()) {
+                // The same event can be given up on again after a replay
+                if (jdbcTemplate.update("UPDATE outbox_dead_letters SET error = ?, failed_at = ? " +
+                        "WHERE event_id = ? AND subscriber = ?", error, now, entry.id(), deadLetter.subscriber()) == 0) {
+                    jdbcTemplate.update("INSERT INTO outbox_dead_letters (event_id, subscriber, error, failed_at) " +
+                            "VALUES (?, ?, ?, ?)", entry.id(), deadLetter.subscriber(), error, now);
+                }
+            }
+        }
+    }
+
+    // Replays events whose hand-off was lost. Rows that keep failing to
+    // load stop being retried after max-redeliveries and stay for inspection.
+    @Scheduled(fixedDelayString = "${bgf.outbox.poll-interval:1s}")
+    public void redeliver() {
+        if (!running) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(redeliverAfter));
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, event_type, payload FROM outbox_events " +
+                        "WHERE dispatched_at IS NULL AND created_at < ? AND attempts < ? ORDER BY id LIMIT ?",
+                OutboxDispatcher::row, cutoff, maxRedeliveries, batchSize);
+
+        List<Long> attempted = new ArrayList<>();
+        for (Object[] row : rows) {
+            long id = (Long) row[0];
+            if (inFlight.contains(id)) {
+                continue;
+            }
+            attempted.add(id);
+            OutboxEntry entry = load(row);
+            if (entry != null) {
+                replays.add(id);
+                if (enqueue(entry)) {
+                    redelivered.increment();
+                } else {
+                    replays.remove(id);
+                }
+            }
+        }
+        if (!attempted.isEmpty()) {
+            String ids = attempted.stream().map(String::valueOf).collect(Collectors.joining(","));
+            jdbcTemplate.update("UPDATE outbox_events SET attempts = attempts + 1 WHERE id IN (" + ids + ")");
+        }
+    }
+
+    private static Object[] row(ResultSet rs, int rowNum) throws SQLException {
+        return new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)};
+    }
+
+    // The entry for an (id, event_type, payload) row, or null if it can't be read
+    private OutboxEntry load(Object[] row) {
+        try {
+            Class<? extends DomainEvent> type = Class.forName((String) row[1]).asSubclass(DomainEvent.class);
+            return new OutboxEntry((Long) row[0], objectMapper.readValue((String) row[2], type));
+        } catch (Exception e) {
+            log.warn("Cannot replay outbox event {} of type {}", row[0], row[1], e);
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bgf.outbox.purge-interval:10m}")
+    public void purge() {
+        int purged = jdbcTemplate.update("DELETE FROM outbox_events WHERE dispatched_at < ? " +
+                        "AND NOT EXISTS (SELECT 1 FROM outbox_dead_letters d WHERE d.event_id = outbox_events.id)",
+                Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        if (purged > 0) {
+            log.info("Purged {} dispatched outbox events", purged);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "outbox-dispatcher");
+        thread.setDaemon(true);
+        deliveryThreads.add(thread);
+        thread.start();
+    }
+
+    // Whatever is still queued stays undispatched and is replayed next start
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lanes.forEach(lane -> lane.executor.shutdown());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record DeadLetter(String subscriber, List<OutboxEntry> entries, RuntimeException error) {
+    }
+
+    // One subscriber with its delivery thread and meters
+    private class Lane {
+        final DomainEventSubscriber subscriber;
+        final String name;
+        final ExecutorService executor;
+        final Timer timer;
+        final Counter failures;
+        final Counter deadLetters;
+
+        Lane(DomainEventSubscriber subscriber, MeterRegistry meterRegistry) {
+            this.subscriber = subscriber;
+            this.name = AopUtils.getTargetClass(subscriber).getSimpleName();
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread laneThread = new Thread(r, "outbox-" + name);
+                laneThread.setDaemon(true);
+                deliveryThreads.add(laneThread);
+                return laneThread;
+            });
+            this.timer = Timer.builder("bgf.outbox.delivery").tag("subscriber", name).register(meterRegistry);
+            this.failures = meterRegistry.counter("bgf.outbox.delivery.failures", "subscriber", name);
+            this.deadLetters = meterRegistry.counter("bgf.outbox.dead_letters", "subscriber", name);
+        }
+
+        boolean accepts(DomainEvent event) {
+            return subscriber.eventTypes().stream().anyMatch(type -> type.isInstance(event));
+        }
+
+        void deliver(List<OutboxEntry> entries, List<DeadLetter> givenUp) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    timer.record(() -> subscriber.onEntries(entries));
+                    return;
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    if (attempt >= deliveryAttempts) {
+                        deadLetters.increment(entries.size());
+                        givenUp.add(new DeadLetter(name, entries, e));
+                        log.error("{} gave up on {} events after {} attempts", name, entries.size(), attempt, e);
+                        return;
+                    }
+                    log.warn("{} failed on {} events (attempt {}), retrying", name, entries.size(), attempt, e);
+                    LockSupport.parkNanos(retryBackoff.toNanos() << (attempt - 1));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.BGF.outbox;
+
+import com.example.BGF.events.DomainEvent;
+
+// An event together with its outbox_events row id, which stays the same
+// however often the event is delivered
+public record OutboxEntry(long id, DomainEvent event) {
+}
@@ -0,0 +1,72 @@
+package com.example.BGF.outbox;
+
+import com.example.BGF.events.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Writes every published DomainEvent to outbox_events on the publisher's
+// thread and connection, so the event commits or rolls back with the
+// change that caused it. After commit the event is handed straight to the
+// dispatcher; if that hand-off is lost the row is still there to replay.
+// This single insert is all a request pays, however many subscribers
+// there are.
+@Component
+public class OutboxRecorder {
+
+    private static final String INSERT = "INSERT INTO outbox_events " +
+            "(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxDispatcher dispatcher;
+
+    public OutboxRecorder(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxDispatcher dispatcher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+    }
+
+    @EventListener
+    public void record(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getName(), e);
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"});
+            statement.setString(1, event.aggregateType());
+            statement.setObject(2, event.aggregateId());
+            statement.setString(3, event.getClass().getName());
+            statement.setString(4, payload);
+            statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            return statement;
+        }, keys);
+        OutboxEntry entry = new OutboxEntry(keys.getKey().longValue(), event);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.enqueue(entry);
+                }
+            });
+        } else {
+            dispatcher.enqueue(entry);
+        }
+    }
+}
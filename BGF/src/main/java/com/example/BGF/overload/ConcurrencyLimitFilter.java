@@ -0,0 +1,74 @@
+package com.example.BGF.overload;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Admits a request only while its route class is under its share of the
+// adaptive limit; the rest get an immediate 503 with Retry-After instead of
+// queueing for a Tomcat worker. Runs in the security chain ahead of
+// JwtAuthFilter, so shed requests never reach the user lookup. Health
+// probes and the Prometheus scrape are never limited.
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String SHED_BODY = "{\"error\":\"Server is busy, please retry shortly\"}";
+
+    private final ConcurrencyLimiter limiter;
+    private final OverloadProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter, OverloadProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        meterRegistry.gauge("bgf.overload.limit", limiter, ConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("bgf.overload.in_flight", limiter, ConcurrencyLimiter::getInFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !properties.isEnabled() || path.startsWith("/actuator/health") || path.equals("/actuator/prometheus");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteClass route = RouteClass.of(request.getRequestURI());
+        if (!limiter.tryAcquire(properties.share(route))) {
+            meterRegistry.counter("bgf.overload.shed", "route", route.name().toLowerCase()).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(SHED_BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            // Streams (SSE) return the worker at once; their duration isn't latency
+            if (request.isAsyncStarted()) {
+                limiter.release();
+            } else {
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.BGF.overload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Concurrency limit that follows measured latency (gradient style, after
+// Netflix's concurrency-limits). Once per window it compares the window's
+// average latency with a slow-moving long-term average: while they agree the
+// limit creeps up by about sqrt(limit); when the window gets slower than
+// tolerance * long-term, the limit is scaled down by the ratio (at most
+// halved). Requests that fail outright cut it by a tenth. The long-term
+// average follows sustained change too, so the limit settles at what the
+// database can serve at its current speed instead of collapsing.
+public class ConcurrencyLimiter {
+
+    // Fewer samples than this in a window say nothing; the window is extended
+    private static final int MIN_SAMPLES = 10;
+    // Windows the long-term average spans
+    private static final int LONG_WINDOWS = 60;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final double tolerance;
+    private final double smoothing;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Current window, written by every finishing request
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private volatile long windowEnd;
+
+    // Whoever crosses the window end first recomputes the limit; others carry on
+    private final ReentrantLock updating = new ReentrantLock();
+    private double longLatency;
+
+    public ConcurrencyLimiter(OverloadProperties properties, LongSupplier clock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        this.windowEnd = clock.getAsLong() + windowNanos;
+    }
+
+    // Takes a slot if fewer than share * limit requests are in flight
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    // Frees the slot and feeds the request's latency into the current window
+    public void release(long latencyNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            drops.increment();
+        } else {
+            latencySum.add(latencyNanos);
+            samples.increment();
+        }
+        long now = clock.getAsLong();
+        if (now >= windowEnd && updating.tryLock()) {
+            try {
+                if (now >= windowEnd) {
+                    endWindow(now);
+                }
+            } finally {
+                updating.unlock();
+            }
+        }
+    }
+
+    // Frees the slot without a sample, e.g. when the request went async
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private void endWindow(long now) {
+        long dropped = drops.sum();
+        if (dropped == 0 && samples.sum() < MIN_SAMPLES) {
+            windowEnd = now + windowNanos;
+            return;
+        }
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        drops.reset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        windowEnd = now + windowNanos;
+
+        double current = limit;
+        double estimate;
+        if (dropped > 0) {
+            estimate = current * DROP_BACKOFF;
+        } else {
+            double shortLatency = (double) sum / count;
+            if (longLatency == 0) {
+                longLatency = shortLatency;
+            } else {
+                longLatency += (shortLatency - longLatency) / LONG_WINDOWS;
+                // Recovering: pull the baseline down faster than it went up
+                if (longLatency > 2 * shortLatency) {
+                    longLatency *= 0.95;
+                }
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+            estimate = current * gradient + Math.sqrt(current);
+            // Never came close to the limit: no evidence a higher one is safe
+            if (estimate > current && peak < current / 2) {
+                estimate = current;
+            }
+        }
+        double next = current * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
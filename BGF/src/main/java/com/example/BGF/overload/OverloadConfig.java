@@ -0,0 +1,15 @@
+package com.example.BGF.overload;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OverloadProperties.class)
+public class OverloadConfig {
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(OverloadProperties properties) {
+        return new ConcurrencyLimiter(properties, System::nanoTime);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.BGF.overload;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties("bgf.overload")
+public class OverloadProperties {
+
+    private boolean enabled = true;
+
+    // Concurrent requests allowed at startup, and the range the limit moves in
+    private int initialLimit = 40;
+    private int minLimit = 8;
+    private int maxLimit = 200;
+
+    // Latency is averaged over windows this long; the limit moves once per window
+    private Duration window = Duration.ofMillis(500);
+
+    // The limit shrinks once a window's average latency exceeds the long-term
+    // average by more than this factor
+    private double tolerance = 1.5;
+
+    // Weight of each new estimate against the current limit
+    private double smoothing = 0.2;
+
+    // Fraction of the limit each class may occupy
+    private Map<RouteClass, Double> shares = new EnumMap<>(Map.of(
+            RouteClass.CHECKOUT, 1.0,
+            RouteClass.AUTH, 0.9,
+            RouteClass.ADMIN, 0.8,
+            RouteClass.CATALOG, 0.7));
+
+    // Sent as Retry-After on shed requests
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+
+    public Map<RouteClass, Double> getShares() { return shares; }
+    public void setShares(Map<RouteClass, Double> shares) { this.shares = shares; }
+
+    public Duration getRetryAfter() { return retryAfter; }
+    public void setRetryAfter(Duration retryAfter) { this.retryAfter = retryAfter; }
+
+    public double share(RouteClass route) {
+        return shares.getOrDefault(route, 1.0);
+    }
+}
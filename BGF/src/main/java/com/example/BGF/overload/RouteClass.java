@@ -0,0 +1,26 @@
+package com.example.BGF.overload;
+
+// Request classes, highest priority first. Each may occupy up to its share
+// of the concurrency limit (bgf.overload.shares), so as the server fills up
+// catalog browsing is refused first while checkout still finds room.
+public enum RouteClass {
+    CHECKOUT,
+    AUTH,
+    ADMIN,
+    CATALOG;
+
+    static RouteClass of(String path) {
+        if (path.startsWith("/api/orders") || path.startsWith("/api/cart")) {
+            return CHECKOUT;
+        }
+        if (path.startsWith("/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/products/admin/") || path.startsWith("/services/admin/")
+                || path.startsWith("/api/wishlist/admin/")
+                || path.startsWith("/api/admin/") || path.startsWith("/actuator/")) {
+            return ADMIN;
+        }
+        return CATALOG;
+    }
+}
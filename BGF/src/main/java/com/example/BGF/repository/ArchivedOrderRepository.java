@@ -0,0 +1,15 @@
+package com.example.BGF.repository;
+
+import com.example.BGF.models.ArchivedOrder;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    // The created_at bound lets MySQL skip the partitions of earlier years
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
+    List<ArchivedOrder> findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(Long userId, LocalDateTime since);
+}
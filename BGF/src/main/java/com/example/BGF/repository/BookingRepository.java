@@ -0,0 +1,25 @@
+package com.example.BGF.repository;
+
+import com.example.BGF.booking.BookedSlot;
+import com.example.BGF.models.Booking;
+import com.example.BGF.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Calendar loads select just the slot columns
+    List<BookedSlot> findSlotsByProviderIdAndStatusAndEndTimeAfter(Long providerId, String status,
+                                                                   LocalDateTime after);
+
+    List<BookedSlot> findSlotsByStatusAndEndTimeAfter(String status, LocalDateTime after);
+
+    @EntityGraph(attributePaths = {"service", "service.user", "customer"})
+    List<Booking> findByCustomerOrderByStartTimeDesc(User customer);
+
+    @EntityGraph(attributePaths = {"service", "service.user", "customer"})
+    List<Booking> findByProviderIdAndEndTimeAfterOrderByStartTime(Long providerId, LocalDateTime after);
+}
@@ -0,0 +1,14 @@
+package com.example.BGF.repository;
+
+import com.example.BGF.models.InventoryMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    List<InventoryMovement> findByProductIdOrderByCreatedAtDesc(Long productId, Pageable pageable);
+}
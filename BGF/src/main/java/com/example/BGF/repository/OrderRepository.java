@@ -2,9 +2,21 @@ package com.example.BGF.repository;
 
 import com.example.BGF.models.Order;
 import com.example.BGF.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
+    List<Order> findAll();
+
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
     List<Order> findByUser(User user);
+
+    // [productId, units ordered]; product popularity for search suggestions
+    @Query("select o.product.id, sum(o.quantity) from Order o group by o.product.id")
+    List<Object[]> sumQuantityByProduct();
 }
@@ -1,13 +1,63 @@
 package com.example.BGF.repository;
 
 import com.example.BGF.models.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Fetch the admin in the same query instead of one select per distinct admin
+    @Override
+    @EntityGraph(attributePaths = "admin")
+    List<Product> findAll();
+
+    @EntityGraph(attributePaths = "admin")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-queries")})
     List<Product> findByCategoryContainingIgnoreCase(String category);
+
+    @EntityGraph(attributePaths = "admin")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-queries")})
     List<Product> findByNameContainingIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = "admin")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    // MySQL only: uses the FULLTEXT index from db/migration/mysql
+    @Query(value = "SELECT id FROM products WHERE MATCH(name, description) AGAINST (?1 IN BOOLEAN MODE) LIMIT 500",
+            nativeQuery = true)
+    List<Long> searchFullText(String booleanQuery);
+
+    // Other products in the same category, without loading the product first
+    @EntityGraph(attributePaths = "admin")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-queries")})
+    @Query("select p from Product p where p.category = (select c.category from Product c where c.id = :id) and p.id <> :id")
+    List<Product> findRelated(@Param("id") Long id, Pageable pageable);
+
+    // [id, name, category] for in-memory indexes; no entities, no admin join
+    @Query("select p.id, p.name, p.category from Product p")
+    List<Object[]> findSuggestFields();
+
+    // [id, name, description, price, stock, category, imageUrl] for the columnar catalog index
+    @Query("select p.id, p.name, p.description, p.price, p.stock, p.category, p.imageUrl from Product p")
+    List<Object[]> findColumnFields();
+
+    // [id, name, stock, threshold] of products at or below their alert level.
+    // Scans the catalog; LowStockWatcher runs it once at startup only.
+    @Query("select p.id, p.name, p.stock, coalesce(p.lowStockThreshold, :defaultThreshold) from Product p " +
+            "where p.stock <= coalesce(p.lowStockThreshold, :defaultThreshold)")
+    List<Object[]> findLowStock(@Param("defaultThreshold") int defaultThreshold);
 }
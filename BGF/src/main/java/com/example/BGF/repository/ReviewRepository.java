@@ -1,7 +1,11 @@
 package com.example.BGF.repository;
 
 import com.example.BGF.models.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +13,24 @@ import java.util.List;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    // Reviewer and product are eager, so load them in the same query
+    @Override
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
+    List<Review> findAll();
+
     // Find reviews by product
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
     List<Review> findByProductId(Long productId);
 
     // Find reviews by user
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
     List<Review> findByUserId(Long userId);
+
+    // Newest reviews of a product, one page at a time
+    @EntityGraph(attributePaths = {"user", "product", "product.admin"})
+    List<Review> findByProductIdOrderByCreatedAtDesc(Long productId, Pageable pageable);
+
+    // [rating, count] rows; answered from the (product_id, rating) index alone
+    @Query("select r.rating, count(r) from Review r where r.product.id = :productId group by r.rating")
+    List<Object[]> countByRating(@Param("productId") Long productId);
 }
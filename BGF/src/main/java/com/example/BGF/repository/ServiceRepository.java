@@ -1,9 +1,21 @@
 package com.example.BGF.repository;
 
 import com.example.BGF.models.AppService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ServiceRepository extends JpaRepository<AppService, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "service-queries")})
+    List<AppService> findAll();
 }
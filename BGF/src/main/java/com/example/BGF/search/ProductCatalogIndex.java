@@ -0,0 +1,134 @@
+package com.example.BGF.search;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.InventoryEvent;
+import com.example.BGF.events.ProductChangedEvent;
+import com.example.BGF.outbox.EventOnlySubscriber;
+import com.example.BGF.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Serves /products/browse from a ProductColumns snapshot so range filters
+// and sorting never reach the database. Every product mutation publishes a
+// ProductChangedEvent and every stock movement an InventoryEvent; on
+// delivery the snapshot is rebuilt off-thread and swapped in. Mutations
+// during a rebuild are folded into one more rebuild.
+//
+// The first snapshot is built before readiness is reported; until it
+// exists browse() throws IllegalStateException rather than answer with an
+// empty catalog, and a failed first build is retried every
+// bgf.catalog.retry-delay.
+@Component
+public class ProductCatalogIndex implements EventOnlySubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogIndex.class);
+
+    private final ProductRepository productRepository;
+    private final Timer buildTimer;
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    // Null until the first build succeeds
+    private volatile ProductColumns columns;
+
+    @Value("${bgf.catalog.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${bgf.catalog.retry-delay:5s}")
+    private Duration retryDelay;
+
+    public ProductCatalogIndex(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.buildTimer = Timer.builder("bgf.catalog.rebuild").register(meterRegistry);
+        meterRegistry.gauge("bgf.catalog.rows", this, index -> index.columns == null ? 0 : index.columns.size());
+    }
+
+    public Map<String, Object> browse(ProductQuery query, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must be >= 0 and size >= 1");
+        }
+        ProductColumns current = columns;
+        if (current == null) {
+            throw new IllegalStateException("The catalog is still loading");
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        ProductColumns.Page result = current.query(query, page, pageSize);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", result.items());
+        body.put("total", result.total());
+        body.put("page", page);
+        body.put("size", pageSize);
+        return body;
+    }
+
+    // On the builder thread, so it can't race a rebuild, but waited for here,
+    // which holds readiness back until it is done
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialBuild() {
+        try {
+            builder.submit(this::rebuild).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Catalog index build failed", e.getCause());
+        }
+    }
+
+    // Inventory events too: orders and restocks move stock without
+    // touching the product otherwise
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(ProductChangedEvent.class, InventoryEvent.class);
+    }
+
+    // One rebuild covers the whole batch
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        requestRebuild();
+    }
+
+    private void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        try {
+            columns = buildTimer.record(() -> new ProductColumns(productRepository.findColumnFields()));
+            log.info("Catalog index rebuilt: {} products", columns.size());
+        } catch (RuntimeException e) {
+            if (columns != null) {
+                log.warn("Catalog index rebuild failed; keeping the previous one", e);
+            } else {
+                log.warn("Catalog index build failed; retrying in {}", retryDelay, e);
+                builder.schedule(this::requestRebuild, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.BGF.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+// Immutable column-oriented snapshot of the catalog. Row i holds the i-th
+// product by id; each field is a plain array. Price and stock keep a
+// permutation of rows sorted by value plus the sorted values themselves,
+// so a range is two binary searches, and each category keeps a bitset of
+// its rows. A query intersects bitsets and then walks the requested sort
+// order, picking rows still in the mask until the page is full.
+public final class ProductColumns {
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] descriptions;
+    private final double[] prices;
+    private final int[] stocks;
+    private final String[] categories;
+    private final String[] imageUrls;
+
+    private final SortedColumn byPrice;
+    private final SortedColumn byStock;
+    private final int[] byName;
+    private final Map<String, BitSet> byCategory = new HashMap<>();
+
+    // rows: [id, name, description, price, stock, category, imageUrl], any order
+    public ProductColumns(List<Object[]> rows) {
+        List<Object[]> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(row -> ((Number) row[0]).longValue()));
+        int n = sorted.size();
+        ids = new long[n];
+        names = new String[n];
+        descriptions = new String[n];
+        prices = new double[n];
+        stocks = new int[n];
+        categories = new String[n];
+        imageUrls = new String[n];
+        BitSet hasPrice = new BitSet(n);
+        BitSet hasStock = new BitSet(n);
+
+        for (int i = 0; i < n; i++) {
+            Object[] row = sorted.get(i);
+            ids[i] = ((Number) row[0]).longValue();
+            names[i] = (String) row[1];
+            descriptions[i] = (String) row[2];
+            if (row[3] != null) {
+                prices[i] = ((Number) row[3]).doubleValue();
+                hasPrice.set(i);
+            }
+            if (row[4] != null) {
+                stocks[i] = ((Number) row[4]).intValue();
+                hasStock.set(i);
+            }
+            categories[i] = (String) row[5];
+            imageUrls[i] = (String) row[6];
+            if (categories[i] != null) {
+                byCategory.computeIfAbsent(key(categories[i]), k -> new BitSet(n)).set(i);
+            }
+        }
+
+        byPrice = new SortedColumn(hasPrice, i -> prices[i]);
+        byStock = new SortedColumn(hasStock, i -> stocks[i]);
+        byName = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparing((Integer i) -> names[i] == null ? "" : names[i],
+                        String.CASE_INSENSITIVE_ORDER))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public Page query(ProductQuery query, int page, int pageSize) {
+        BitSet mask = new BitSet(size());
+        if (query.category() != null && !query.category().isBlank()) {
+            BitSet rows = byCategory.get(key(query.category()));
+            if (rows != null) {
+                mask.or(rows);
+            }
+        } else {
+            mask.set(0, size());
+        }
+        if (query.minPrice() != null || query.maxPrice() != null) {
+            mask.and(byPrice.range(query.minPrice(), query.maxPrice()));
+        }
+        if (query.minStock() != null || query.maxStock() != null) {
+            mask.and(byStock.range(
+                    query.minStock() == null ? null : query.minStock().doubleValue(),
+                    query.maxStock() == null ? null : query.maxStock().doubleValue()));
+        }
+
+        int total = mask.cardinality();
+        // long: a page far past the end must not wrap round to the start
+        long skip = (long) page * pageSize;
+        List<ProductSummary> items = new ArrayList<>((int) Math.min(pageSize, Math.max(total - skip, 0)));
+        if (skip < total) {
+            for (int row : order(query, mask)) {
+                if (skip > 0) {
+                    skip--;
+                } else if (items.size() < pageSize) {
+                    items.add(summary(row));
+                } else {
+                    break;
+                }
+            }
+        }
+        return new Page(items, total);
+    }
+
+    // Rows of the mask in the requested order, lazily
+    private Iterable<Integer> order(ProductQuery query, BitSet mask) {
+        return switch (query.sort()) {
+            case ID -> () -> query.descending()
+                    ? IntStream.iterate(mask.previousSetBit(size() - 1), i -> i >= 0, i -> mask.previousSetBit(i - 1)).iterator()
+                    : mask.stream().iterator();
+            case NAME -> () -> walk(byName, byName.length, query.descending(), mask, null);
+            case PRICE -> () -> walk(byPrice.order, byPrice.order.length, query.descending(), mask, byPrice.present);
+            case STOCK -> () -> walk(byStock.order, byStock.order.length, query.descending(), mask, byStock.present);
+        };
+    }
+
+    // Rows in 'order' (reversed when descending) that are in the mask,
+    // followed by masked rows without a value for the column, by id
+    private static PrimitiveIterator.OfInt walk(int[] order, int length, boolean descending,
+                                                BitSet mask, BitSet present) {
+        IntStream sorted = IntStream.range(0, length)
+                .map(i -> order[descending ? length - 1 - i : i])
+                .filter(mask::get);
+        if (present == null) {
+            return sorted.iterator();
+        }
+        return IntStream.concat(sorted, mask.stream().filter(row -> !present.get(row))).iterator();
+    }
+
+    private ProductSummary summary(int row) {
+        return new ProductSummary(ids[row], names[row], descriptions[row],
+                byPrice.present.get(row) ? prices[row] : null,
+                byStock.present.get(row) ? stocks[row] : null,
+                categories[row], imageUrls[row]);
+    }
+
+    private static String key(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Page(List<ProductSummary> items, int total) {
+    }
+
+    // Rows having a value, ordered by it (ties by id), and the values in that order
+    private static final class SortedColumn {
+        final BitSet present;
+        final int[] order;
+        final double[] values;
+
+        SortedColumn(BitSet present, IntToDoubleFunction value) {
+            this.present = present;
+            this.order = present.stream().boxed()
+                    .sorted(Comparator.comparingDouble(value::applyAsDouble))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.values = new double[order.length];
+            for (int i = 0; i < order.length; i++) {
+                values[i] = value.applyAsDouble(order[i]);
+            }
+        }
+
+        BitSet range(Double min, Double max) {
+            int from = min == null ? 0 : firstAtLeast(min, false);
+            int to = max == null ? values.length : firstAtLeast(max, true);
+            BitSet rows = new BitSet();
+            for (int i = from; i < to; i++) {
+                rows.set(order[i]);
+            }
+            return rows;
+        }
+
+        // First index whose value is >= bound (or > bound when 'strictly')
+        private int firstAtLeast(double bound, boolean strictly) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < bound || (strictly && values[mid] == bound)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.BGF.search;
+
+import java.util.Locale;
+
+// Filters and ordering for /products/browse. Null bounds and category mean
+// "no restriction"; products without a value for the sort column come last.
+public record ProductQuery(String category,
+                           Double minPrice, Double maxPrice,
+                           Integer minStock, Integer maxStock,
+                           Sort sort, boolean descending) {
+
+    public enum Sort { ID, NAME, PRICE, STOCK }
+
+    public static Sort parseSort(String value) {
+        if (value == null || value.isBlank()) {
+            return Sort.ID;
+        }
+        try {
+            return Sort.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("sort must be one of id, name, price, stock");
+        }
+    }
+
+    public static boolean parseDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("direction must be asc or desc");
+    }
+}
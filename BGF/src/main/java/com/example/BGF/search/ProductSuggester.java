@@ -0,0 +1,130 @@
+package com.example.BGF.search;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.ProductChangedEvent;
+import com.example.BGF.outbox.EventOnlySubscriber;
+import com.example.BGF.repository.OrderRepository;
+import com.example.BGF.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Type-ahead over product names and categories. Queries read an immutable
+// SuggestIndex through a volatile field; catalog changes trigger a rebuild
+// on a background thread which then swaps the new index in. Changes that
+// arrive during a rebuild are folded into one more rebuild.
+//
+// Weight of a product is the number of units ordered (plus one, so new
+// products still show up); a category weighs the sum of its products.
+@Component
+public class ProductSuggester implements EventOnlySubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggester.class);
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final Timer buildTimer;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "suggest-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile SuggestIndex index = SuggestIndex.EMPTY;
+
+    @Value("${bgf.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${bgf.suggest.max-key-length:32}")
+    private int maxKeyLength;
+
+    public ProductSuggester(ProductRepository productRepository, OrderRepository orderRepository,
+                            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.buildTimer = Timer.builder("bgf.suggest.rebuild").register(meterRegistry);
+        meterRegistry.gauge("bgf.suggest.nodes", this, suggester -> suggester.index.nodeCount());
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.min(limit, topK));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialBuild() {
+        requestRebuild();
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(ProductChangedEvent.class);
+    }
+
+    // One rebuild covers the whole batch
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        requestRebuild();
+    }
+
+    // Popularity moves with orders, not only with catalog edits
+    @Scheduled(fixedDelayString = "${bgf.suggest.refresh-interval:10m}",
+            initialDelayString = "${bgf.suggest.refresh-interval:10m}")
+    public void refreshWeights() {
+        requestRebuild();
+    }
+
+    private void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    index = buildTimer.record(this::build);
+                } catch (RuntimeException e) {
+                    log.warn("Suggest index rebuild failed; keeping the previous one", e);
+                }
+            });
+        }
+    }
+
+    private SuggestIndex build() {
+        Map<Long, Long> unitsOrdered = new HashMap<>();
+        for (Object[] row : orderRepository.sumQuantityByProduct()) {
+            unitsOrdered.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        SuggestIndex.Builder builder = new SuggestIndex.Builder(topK, maxKeyLength);
+        Map<String, Long> categoryWeights = new HashMap<>();
+        List<Object[]> products = productRepository.findSuggestFields();
+        for (Object[] row : products) {
+            Long id = (Long) row[0];
+            String name = (String) row[1];
+            String category = (String) row[2];
+            long weight = 1 + unitsOrdered.getOrDefault(id, 0L);
+            builder.add(new Suggestion(name, Suggestion.PRODUCT, id, weight));
+            if (category != null && !category.isBlank()) {
+                categoryWeights.merge(category, weight, Long::sum);
+            }
+        }
+        categoryWeights.forEach((category, weight) ->
+                builder.add(new Suggestion(category, Suggestion.CATEGORY, null, weight)));
+
+        SuggestIndex built = builder.build();
+        log.info("Suggest index rebuilt: {} entries, {} nodes", built.entryCount(), built.nodeCount());
+        return built;
+    }
+}
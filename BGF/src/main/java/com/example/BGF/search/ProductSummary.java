@@ -0,0 +1,5 @@
+package com.example.BGF.search;
+
+// Listing view of a product as held by the in-memory catalog index
+public record ProductSummary(Long id, String name, String description, Double price, Integer stock, String category, String imageUrl) {
+}
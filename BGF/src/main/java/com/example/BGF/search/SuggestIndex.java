@@ -0,0 +1,212 @@
+package com.example.BGF.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+// Immutable prefix trie flattened into primitive arrays. Every node stores
+// its K best completions, so a lookup is one walk down the prefix plus a
+// copy of at most K entries - no traversal of the subtree.
+//
+// Each entry is indexed under every word start ("pro bat 4", "bat 4", "4"),
+// so typing any word of a product name finds it. Keys stop at maxKeyLength
+// characters; a longer prefix is looked up by its first maxKeyLength and
+// the results checked against the whole of it, so it can find fewer than
+// the limit.
+public final class SuggestIndex {
+
+    public static final SuggestIndex EMPTY = new Builder(1, 1).build();
+
+    // Node n's children are nodes firstChild[n] .. firstChild[n] + childCount[n] - 1,
+    // sorted by label so lookups can binary search them
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childCount;
+    // Node n's best entries are top[topStart[n] .. topStart[n + 1] - 1]
+    private final int[] topStart;
+    private final int[] top;
+    private final Suggestion[] entries;
+    private final int maxKeyLength;
+
+    private SuggestIndex(char[] label, int[] firstChild, int[] childCount,
+                         int[] topStart, int[] top, Suggestion[] entries, int maxKeyLength) {
+        this.label = label;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.top = top;
+        this.entries = entries;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        boolean truncated = key.length() > maxKeyLength;
+        int node = 0;
+        for (int i = 0; i < Math.min(key.length(), maxKeyLength) && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node < 0) {
+            return List.of();
+        }
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, topStart[node + 1] - topStart[node]));
+        for (int i = topStart[node]; i < topStart[node + 1] && result.size() < limit; i++) {
+            Suggestion entry = entries[top[i]];
+            if (!truncated || hasWordStartingWith(normalize(entry.text()), key)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public int nodeCount() {
+        return label.length;
+    }
+
+    public int entryCount() {
+        return entries.length;
+    }
+
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char m = label[mid];
+            if (m < c) lo = mid + 1;
+            else if (m > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private static boolean hasWordStartingWith(String text, String key) {
+        for (int start = 0; start < text.length(); start++) {
+            if ((start == 0 || text.charAt(start - 1) == ' ') && text.startsWith(key, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public static class Builder {
+
+        private final int topK;
+        private final int maxKeyLength;
+        private final List<Suggestion> entries = new ArrayList<>();
+        private final Node root = new Node();
+
+        public Builder(int topK, int maxKeyLength) {
+            this.topK = topK;
+            this.maxKeyLength = maxKeyLength;
+        }
+
+        public Builder add(Suggestion suggestion) {
+            int id = entries.size();
+            entries.add(suggestion);
+            String text = normalize(suggestion.text());
+            for (int start = 0; start < text.length(); start++) {
+                if (start == 0 || text.charAt(start - 1) == ' ') {
+                    insert(text.substring(start, Math.min(text.length(), start + maxKeyLength)), id);
+                }
+            }
+            return this;
+        }
+
+        private void insert(String key, int id) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.addEntry(id);
+        }
+
+        public SuggestIndex build() {
+            Suggestion[] entryArray = entries.toArray(new Suggestion[0]);
+            Comparator<Integer> byWeight = Comparator
+                    .comparingLong((Integer id) -> -entryArray[id].weight())
+                    .thenComparing(id -> entryArray[id].text());
+
+            // Breadth-first numbering keeps each node's children contiguous
+            List<Node> order = new ArrayList<>();
+            order.add(root);
+            for (int i = 0; i < order.size(); i++) {
+                order.get(i).index = i;
+                order.addAll(order.get(i).children.values());
+            }
+            int n = order.size();
+
+            // Bottom-up (children have higher indices): a node's best entries are
+            // the best of the keys ending here plus its children's best
+            for (int i = n - 1; i >= 0; i--) {
+                Node node = order.get(i);
+                for (Node child : node.children.values()) {
+                    for (int id : child.best) {
+                        node.addEntry(id);
+                    }
+                }
+                node.best = node.selectBest(byWeight, topK);
+            }
+
+            char[] label = new char[n];
+            int[] firstChild = new int[n];
+            int[] childCount = new int[n];
+            int[] topStart = new int[n + 1];
+            int[] top = new int[order.stream().mapToInt(node -> node.best.length).sum()];
+            int topSize = 0;
+            for (int i = 0; i < n; i++) {
+                Node node = order.get(i);
+                childCount[i] = node.children.size();
+                if (childCount[i] > 0) {
+                    firstChild[i] = node.children.firstEntry().getValue().index;
+                    node.children.forEach((c, child) -> label[child.index] = c);
+                }
+                topStart[i] = topSize;
+                System.arraycopy(node.best, 0, top, topSize, node.best.length);
+                topSize += node.best.length;
+            }
+            topStart[n] = topSize;
+            return new SuggestIndex(label, firstChild, childCount, topStart, top, entryArray, maxKeyLength);
+        }
+    }
+
+    // Build-time only; thrown away once the arrays exist
+    private static class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        int[] ids = new int[2];
+        int size;
+        int index;
+        int[] best;
+
+        void addEntry(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        // The same entry can arrive through two of its words, hence distinct()
+        int[] selectBest(Comparator<Integer> order, int k) {
+            return Arrays.stream(ids, 0, size)
+                    .distinct()
+                    .boxed()
+                    .sorted(order)
+                    .limit(k)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+}
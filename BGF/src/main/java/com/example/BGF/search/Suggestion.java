@@ -0,0 +1,8 @@
+package com.example.BGF.search;
+
+// One type-ahead result. productId is null for category suggestions.
+public record Suggestion(String text, String type, Long productId, long weight) {
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+}
@@ -6,6 +6,8 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,12 +16,21 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
+
+    // Scanners send garbage tokens in bulk; one stack trace per minute is plenty
+    private static final long STACK_TRACE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final AtomicLong nextStackTraceAt = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedFailures = new AtomicLong();
 
     public JwtAuthFilter(JwtUtil jwtUtil, UserRepository userRepository) {
         this.jwtUtil = jwtUtil;
@@ -38,7 +49,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 String username = jwtUtil.extractUsername(token);
                 String role = jwtUtil.extractRole(token);
 
-                System.out.println("JWT Filter - Username: " + username + ", Role: " + role);
+                log.debug("JWT Filter - Username: {}, Role: {}", username, role);
 
                 // Fetch User from DB
                 User user = userRepository.findByUsername(username)
@@ -50,22 +61,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 // Set authentication with User as principal
                 // Ensure role has ROLE_ prefix for Spring Security
                 String authorityRole = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-                System.out.println("JWT Filter - Authority Role: " + authorityRole);
-                
+                log.debug("JWT Filter - Authority Role: {}", authorityRole);
+
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(user, null,
                                 Collections.singleton(() -> authorityRole));
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                System.out.println("JWT Filter - Authentication set successfully for user: " + username);
+                log.debug("JWT Filter - Authentication set successfully for user: {}", username);
 
             } catch (Exception e) {
-                System.out.println("Invalid JWT: " + e.getMessage());
-                e.printStackTrace();
+                logInvalidToken(e);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private void logInvalidToken(Exception e) {
+        long now = System.nanoTime();
+        long next = nextStackTraceAt.get();
+        if (now - next >= 0 && nextStackTraceAt.compareAndSet(next, now + STACK_TRACE_INTERVAL_NANOS)) {
+            log.warn("Invalid JWT: {} ({} similar failures suppressed)", e.getMessage(), suppressedFailures.getAndSet(0), e);
+        } else {
+            suppressedFailures.incrementAndGet();
+            log.debug("Invalid JWT: {}", e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.BGF.security;
 
 import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 import java.util.Date;
 
@@ -9,31 +11,45 @@ public class JwtUtil {
     private final String SECRET = "MySuperLongJwtSecretKey1234567890ABCDEF"; // should match properties
     private final long EXPIRATION = 3600000; // 1 hour
 
+    private final Timer signTimer;
+    private final Timer parseTimer;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.signTimer = Timer.builder("bgf.security.jwt")
+                .tag("operation", "sign")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.parseTimer = Timer.builder("bgf.security.jwt")
+                .tag("operation", "parse")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public String generateToken(String username, String role) {
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setSubject(username)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
                 .signWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(SECRET.getBytes()))
-                .compact();
+                .compact());
     }
 
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
+        return parseTimer.record(() -> Jwts.parserBuilder()
                 .setSigningKey(SECRET.getBytes())
                 .build()
                 .parseClaimsJws(token)
                 .getBody()
-                .getSubject();
+                .getSubject());
     }
 
     public String extractRole(String token) {
-        return (String) Jwts.parserBuilder()
+        return parseTimer.record(() -> (String) Jwts.parserBuilder()
                 .setSigningKey(SECRET.getBytes())
                 .build()
                 .parseClaimsJws(token)
                 .getBody()
-                .get("role");
+                .get("role"));
     }
 }
@@ -1,5 +1,6 @@
 package com.example.BGF.security;
 
+import com.example.BGF.overload.ConcurrencyLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -13,9 +14,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     public final JwtAuthFilter jwtAuthFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, ConcurrencyLimitFilter concurrencyLimitFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     @Bean
@@ -25,15 +28,25 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**").permitAll()
+                        .requestMatchers("/products/admin/inventory/**").hasRole("ADMIN")
+                        .requestMatchers("/products/admin/*/image").hasRole("ADMIN")
                         .requestMatchers("/products/**").permitAll()
+                        .requestMatchers("/images/**").permitAll()
                         .requestMatchers("/services/admin/**").hasRole("ADMIN")
                         .requestMatchers("/services/user/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/orders/**").permitAll()
+                        .requestMatchers("/api/wishlist/counts").permitAll()
+                        .requestMatchers("/api/wishlist/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
                         .requestMatchers("/review/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Shed before the user lookup, not after
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthFilter.class);
         return http.build();
     }
 }
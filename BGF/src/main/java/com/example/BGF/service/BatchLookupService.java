@@ -0,0 +1,103 @@
+package com.example.BGF.service;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Multi-get for products and public user profiles. Results come back in
+// request order with the ids that don't exist listed under "missing".
+// Identical requests arriving while one is being loaded share its result.
+//
+// Deliberately not @Transactional: callers waiting on another request's
+// load must not hold a database connection while they wait.
+@Service
+public class BatchLookupService {
+
+    private final ProductService productService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<List<Long>, Map<String, Object>> productFlights = new SingleFlight<>();
+    private final SingleFlight<List<Long>, Map<String, Object>> profileFlights = new SingleFlight<>();
+
+    @Value("${bgf.batch.max-ids:500}")
+    private int maxIds;
+
+    public BatchLookupService(ProductService productService, UserService userService, MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.userService = userService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Map<String, Object> getProducts(List<Long> ids) {
+        List<Long> unique = normalize(ids);
+        SingleFlight.Result<Map<String, Object>> result = productFlights.call(unique,
+                () -> collect(unique, productService.getProductsByIds(unique), product -> product));
+        record("products", result);
+        return result.value();
+    }
+
+    public Map<String, Object> getPublicProfiles(List<Long> ids) {
+        List<Long> unique = normalize(ids);
+        SingleFlight.Result<Map<String, Object>> result = profileFlights.call(unique,
+                () -> collect(unique, userService.getUsersByIds(unique), BatchLookupService::publicProfile));
+        record("profiles", result);
+        return result.value();
+    }
+
+    // Fields anyone may see; no email, phone or address
+    public static Map<String, Object> publicProfile(User user) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("id", user.getId());
+        profile.put("username", user.getUsername());
+        profile.put("fullName", user.getFullName());
+        profile.put("role", user.getRole());
+        profile.put("serviceType", user.getServiceType());
+        profile.put("available", user.isAvailable());
+        return profile;
+    }
+
+    // Drops nulls and repeats, keeps first-seen order
+    private List<Long> normalize(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids is required");
+        }
+        List<Long> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        unique.remove(null);
+        if (unique.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per request");
+        }
+        return List.copyOf(unique);
+    }
+
+    private static <T> Map<String, Object> collect(List<Long> ids, List<T> loaded, Function<T, Object> view) {
+        List<Object> items = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            T entity = loaded.get(i);
+            if (entity == null) {
+                missing.add(ids.get(i));
+            } else {
+                items.add(view.apply(entity));
+            }
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("items", items);
+        response.put("missing", missing);
+        return response;
+    }
+
+    private void record(String type, SingleFlight.Result<?> result) {
+        meterRegistry.counter("bgf.batch.requests", "type", type, "coalesced", String.valueOf(result.shared()))
+                .increment();
+    }
+}
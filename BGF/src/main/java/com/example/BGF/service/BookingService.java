@@ -0,0 +1,165 @@
+package com.example.BGF.service;
+
+import com.example.BGF.booking.BookedSlot;
+import com.example.BGF.booking.BookingCalendars;
+import com.example.BGF.booking.TimeWindow;
+import com.example.BGF.models.AppService;
+import com.example.BGF.models.Booking;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.BookingRepository;
+import com.example.BGF.repository.ServiceRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Books services by time slot. Conflicts are checked against the provider's
+// in-memory calendar (BookingCalendars) rather than the bookings table; a
+// hold checks, commits the row and updates the calendar under the provider's
+// lock, so two holds on the same time cannot both succeed. Providers whose
+// account is marked unavailable take no new bookings.
+@Service
+@Timed(value = "bgf.service", histogram = true)
+public class BookingService {
+
+    private final BookingRepository bookingRepository;
+    private final ServiceRepository serviceRepository;
+    private final BookingCalendars calendars;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bgf.bookings.max-length:8h}")
+    private Duration maxLength;
+
+    @Value("${bgf.bookings.horizon:90d}")
+    private Duration horizon;
+
+    @Value("${bgf.bookings.max-search-window:31d}")
+    private Duration maxSearchWindow;
+
+    public BookingService(BookingRepository bookingRepository, ServiceRepository serviceRepository,
+                          BookingCalendars calendars, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.serviceRepository = serviceRepository;
+        this.calendars = calendars;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Times are kept to the minute
+    public Booking book(Long serviceId, User customer, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("start and end are required");
+        }
+        LocalDateTime from = start.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime to = end.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime now = LocalDateTime.now();
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("end must be after start");
+        }
+        if (!from.isAfter(now)) {
+            throw new IllegalArgumentException("Bookings must start in the future");
+        }
+        if (Duration.between(from, to).compareTo(maxLength) > 0) {
+            throw new IllegalArgumentException("A booking can last at most " + maxLength.toMinutes() + " minutes");
+        }
+        if (from.isAfter(now.plus(horizon))) {
+            throw new IllegalArgumentException("Bookings open " + horizon.toDays() + " days ahead");
+        }
+        AppService service = findService(serviceId);
+        User provider = service.getProvider();
+        if (provider.getId().equals(customer.getId())) {
+            throw new IllegalArgumentException("You cannot book your own service");
+        }
+        if (!provider.isAvailable()) {
+            throw new IllegalStateException("This provider is not taking bookings");
+        }
+
+        return calendars.withCalendar(provider.getId(), calendar -> {
+            if (!calendar.isFree(from, to)) {
+                throw new IllegalStateException("That time is already booked");
+            }
+            Booking booking = transactionTemplate.execute(status ->
+                    bookingRepository.save(new Booking(service, customer, from, to)));
+            calendar.add(slotOf(booking));
+            return booking;
+        });
+    }
+
+    // The customer, the provider or an admin may cancel until the booking starts
+    public Booking cancel(Long bookingId, User user) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        boolean allowed = booking.getCustomer().getId().equals(user.getId())
+                || booking.getProviderId().equals(user.getId())
+                || "ADMIN".equals(user.getRole());
+        if (!allowed) {
+            throw new IllegalArgumentException("Booking not found");
+        }
+
+        return calendars.withCalendar(booking.getProviderId(), calendar -> {
+            Booking current = transactionTemplate.execute(status -> {
+                Booking fresh = bookingRepository.findById(bookingId).orElseThrow();
+                if (!Booking.BOOKED.equals(fresh.getStatus())) {
+                    throw new IllegalStateException("Booking is already " + fresh.getStatus().toLowerCase());
+                }
+                if (!fresh.getStartTime().isAfter(LocalDateTime.now())) {
+                    throw new IllegalStateException("Booking has already started");
+                }
+                fresh.setStatus(Booking.CANCELLED);
+                return bookingRepository.save(fresh);
+            });
+            calendar.remove(slotOf(current));
+            return current;
+        });
+    }
+
+    // Free stretches of the service's provider of at least the given length;
+    // none while the provider is unavailable
+    public List<TimeWindow> findFreeSlots(Long serviceId, LocalDateTime from, LocalDateTime to, int minutes) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(maxSearchWindow) > 0) {
+            throw new IllegalArgumentException("Search at most " + maxSearchWindow.toDays() + " days at a time");
+        }
+        if (minutes < 1) {
+            throw new IllegalArgumentException("minutes must be at least 1");
+        }
+        User provider = findService(serviceId).getProvider();
+        if (!provider.isAvailable()) {
+            return List.of();
+        }
+        LocalDateTime earliest = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime start = from.isBefore(earliest) ? earliest : from.truncatedTo(ChronoUnit.MINUTES);
+        if (!start.isBefore(to)) {
+            return List.of();
+        }
+        return calendars.get(provider.getId()).freeWindows(start, to, Duration.ofMinutes(minutes));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Booking> getCustomerBookings(User customer) {
+        return bookingRepository.findByCustomerOrderByStartTimeDesc(customer);
+    }
+
+    // Bookings of the provider's services that have not ended yet, soonest first
+    @Transactional(readOnly = true)
+    public List<Booking> getUpcomingForProvider(User provider) {
+        return bookingRepository.findByProviderIdAndEndTimeAfterOrderByStartTime(provider.getId(), LocalDateTime.now());
+    }
+
+    private AppService findService(Long serviceId) {
+        return serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new IllegalArgumentException("Service not found"));
+    }
+
+    private static BookedSlot slotOf(Booking booking) {
+        return new BookedSlot(booking.getId(), booking.getProviderId(), booking.getStartTime(), booking.getEndTime());
+    }
+}
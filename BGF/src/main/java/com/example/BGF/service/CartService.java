@@ -0,0 +1,236 @@
+package com.example.BGF.service;
+
+import com.example.BGF.cart.Cart;
+import com.example.BGF.cart.CartLine;
+import com.example.BGF.cart.CartStore;
+import com.example.BGF.cart.CartView;
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Server-side carts (CartStore). Every line is checked against the current
+// price and stock in one multi-get of the cart's products, so problems show
+// in the cart rather than as failed orders at checkout. The checked view is
+// kept with the cart until the cart or one of its products changes.
+// Checkout always re-checks and places all lines in one transaction.
+@Service
+@Timed(value = "bgf.service", histogram = true)
+public class CartService {
+
+    // Revalidations of a cart that keeps changing underneath
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CartStore cartStore;
+    private final ProductService productService;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bgf.cart.max-lines:50}")
+    private int maxLines;
+
+    @Value("${bgf.cart.max-quantity:99}")
+    private int maxQuantity;
+
+    public CartService(CartStore cartStore, ProductService productService, OrderService orderService,
+                       PlatformTransactionManager transactionManager) {
+        this.cartStore = cartStore;
+        this.productService = productService;
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public CartView getCart(User user) {
+        CartView cached = cartStore.withCart(user.getId(), Cart::validated);
+        return cached != null ? cached : revalidate(user);
+    }
+
+    // Sets a line's quantity; 0 removes it
+    public CartView setQuantity(User user, Long productId, int quantity) {
+        if (quantity < 0 || quantity > maxQuantity) {
+            throw new IllegalArgumentException("Quantity must be between 0 and " + maxQuantity);
+        }
+        if (quantity == 0) {
+            return removeItem(user, productId);
+        }
+        List<Product> found = productService.getProductsByIds(List.of(productId));
+        Product product = found.isEmpty() ? null : found.get(0);
+        if (product == null) {
+            throw new IllegalArgumentException("Product not found");
+        }
+        cartStore.withCart(user.getId(), cart -> {
+            CartLine existing = cart.line(productId);
+            if (existing == null && cart.size() >= maxLines) {
+                throw new IllegalArgumentException("A cart holds at most " + maxLines + " products");
+            }
+            cart.put(new CartLine(productId, quantity, product.getPrice(),
+                    existing != null ? existing.addedAt() : LocalDateTime.now()));
+            return null;
+        });
+        return revalidate(user);
+    }
+
+    public CartView removeItem(User user, Long productId) {
+        cartStore.withCart(user.getId(), cart -> {
+            cart.remove(productId);
+            return null;
+        });
+        return getCart(user);
+    }
+
+    public void clear(User user) {
+        cartStore.withCart(user.getId(), cart -> {
+            cart.clear();
+            return null;
+        });
+    }
+
+    // Orders every line at the price last shown, checked again under each
+    // product's row lock. Throws CartChangedException, carrying the
+    // re-checked cart, if anything changed since or another checkout of the
+    // same cart (a double click, a retry) is still running.
+    public List<Order> checkout(User user, String shippingAddress, String paymentMethod, String notes) {
+        CartView view = claim(user);
+        boolean placed = false;
+        try {
+            List<Order> orders = placeOrders(user, view, shippingAddress, paymentMethod, notes);
+            placed = true;
+            return orders;
+        } finally {
+            boolean remove = placed;
+            cartStore.withCart(user.getId(), cart -> {
+                if (remove) {
+                    view.items().forEach(item -> cart.remove(item.productId()));
+                }
+                cart.endCheckout();
+                return null;
+            });
+        }
+    }
+
+    // Validates the cart and claims it for this checkout, as it was
+    // validated; a product change in between means validating again
+    private CartView claim(User user) {
+        for (int attempt = 1; ; attempt++) {
+            CartView view = revalidate(user);
+            if (view.items().isEmpty()) {
+                throw new IllegalArgumentException("Cart is empty");
+            }
+            if (!view.ready()) {
+                throw new CartChangedException("Your cart changed; please review it", view);
+            }
+            CartView claimed;
+            try {
+                claimed = cartStore.withCart(user.getId(), Cart::beginCheckout);
+            } catch (IllegalStateException e) {
+                throw new CartChangedException(e.getMessage(), view);
+            }
+            if (claimed != null) {
+                return claimed;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new CartChangedException("Your cart changed; please review it", view);
+            }
+        }
+    }
+
+    private List<Order> placeOrders(User user, CartView view, String shippingAddress, String paymentMethod,
+                                    String notes) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Order> placed = new ArrayList<>();
+                for (CartView.Item item : view.items()) {
+                    placed.add(orderService.createOrder(user.getId(), item.productId(), item.quantity(),
+                            shippingAddress, paymentMethod, notes, item.unitPrice()));
+                }
+                return placed;
+            });
+        } catch (RuntimeException e) {
+            // Stock, a price or a product went between the check and the transaction
+            CartView current = revalidate(user);
+            if (e instanceof IllegalStateException) {
+                throw new CartChangedException(e.getMessage(), current);
+            }
+            if (!current.ready()) {
+                throw new CartChangedException("Your cart changed; please review it", current);
+            }
+            throw e;
+        }
+    }
+
+    // One multi-get for all lines, then the result is written back unless
+    // the cart changed in the meantime, in which case it is checked again
+    private CartView revalidate(User user) {
+        for (int attempt = 1; ; attempt++) {
+            long[] revision = new long[1];
+            List<CartLine> lines = cartStore.withCart(user.getId(), cart -> {
+                revision[0] = cart.revision();
+                return cart.lines();
+            });
+            if (lines.isEmpty()) {
+                return CartView.EMPTY;
+            }
+            Map<Long, Product> products = new HashMap<>();
+            for (Product product : productService.getProductsByIds(lines.stream().map(CartLine::productId).toList())) {
+                if (product != null) {
+                    products.put(product.getId(), product);
+                }
+            }
+
+            List<CartView.Item> items = new ArrayList<>(lines.size());
+            Map<Long, Double> newPrices = new HashMap<>();
+            Set<Long> gone = new HashSet<>();
+            for (CartLine line : lines) {
+                Product product = products.get(line.productId());
+                if (product == null || product.getPrice() == null) {
+                    gone.add(line.productId());
+                    items.add(new CartView.Item(line.productId(), null, null, line.quantity(), line.unitPrice(),
+                            null, null, CartView.UNAVAILABLE));
+                    continue;
+                }
+                String problem = null;
+                Double previousPrice = null;
+                if (!Objects.equals(product.getPrice(), line.unitPrice())) {
+                    newPrices.put(line.productId(), product.getPrice());
+                    previousPrice = line.unitPrice();
+                    problem = CartView.PRICE_CHANGED;
+                } else if (product.getStock() != null && product.getStock() < line.quantity()) {
+                    problem = CartView.INSUFFICIENT_STOCK;
+                }
+                items.add(new CartView.Item(line.productId(), product.getName(), product.getImageUrl(),
+                        line.quantity(), product.getPrice(), previousPrice, product.getStock(), problem));
+            }
+            CartView view = CartView.of(items);
+            boolean applied = cartStore.withCart(user.getId(),
+                    cart -> cart.applyRevalidation(revision[0], newPrices, gone, view));
+            if (applied || attempt == MAX_ATTEMPTS) {
+                return view;
+            }
+        }
+    }
+
+    public static class CartChangedException extends IllegalStateException {
+
+        private final transient CartView cart;
+
+        public CartChangedException(String message, CartView cart) {
+            super(message);
+            this.cart = cart;
+        }
+
+        public CartView getCart() { return cart; }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.BGF.service;
+
+import com.example.BGF.export.ExportCursor;
+import com.example.BGF.export.ExportDataset;
+import com.example.BGF.export.ExportFormat;
+import com.example.BGF.export.ExportRequest;
+import com.example.BGF.export.RowWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+// Date-range exports for BI. Rows go from a forward-only, read-only cursor
+// straight to the response, bgf.export.fetch-size at a time, so memory does
+// not grow with the range. On MySQL the export statement is a server-side
+// one with cursor fetch switched on for it alone, so neither the primary nor
+// the replica URLs need useCursorFetch=true (which would make every
+// statement server-side). The read-only transaction sends exports to a
+// replica when read/write splitting is on.
+//
+// Rows come in (created_at, id) order and every row carries both, so an
+// interrupted export resumes with 'after' set to the last row received.
+// Each export holds a connection until it finishes, so only
+// bgf.export.max-concurrent run at once.
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore running;
+
+    @Value("${bgf.export.fetch-size:500}")
+    private int fetchSize;
+
+    public ExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${bgf.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.running = new Semaphore(maxConcurrent);
+        meterRegistry.gauge("bgf.export.running", running, semaphore -> maxConcurrent - semaphore.availablePermits());
+    }
+
+    // The response is opened only once the export has a slot, so a refused
+    // export can still answer with an error
+    public interface Output {
+        OutputStream open() throws IOException;
+    }
+
+    // 'to' is inclusive: from=2026-01-01&to=2026-01-31 is all of January
+    public ExportRequest prepare(String dataset, LocalDate from, LocalDate to, List<String> columns, String format,
+                                 String after, Integer limit) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' is before 'from'");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        ExportDataset exportDataset = ExportDataset.of(dataset);
+        return new ExportRequest(exportDataset, exportDataset.select(columns), from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay(), after != null ? ExportCursor.parse(after) : null, limit,
+                ExportFormat.of(format));
+    }
+
+    // Returns the number of rows written. Throws ExportsBusyException,
+    // before opening the output, when too many exports are running.
+    public long export(ExportRequest request, Output output) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new ExportsBusyException("Too many exports running; try again shortly");
+        }
+        long[] rows = new long[1];
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (RowWriter writer = RowWriter.of(request.format(), request.columns(), output.open(), objectMapper)) {
+                    jdbcTemplate.query(con -> statement(prepareCursor(con, sql(request)), request), rs -> {
+                        try {
+                            writer.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client going away; it can resume from its last row
+            log.info("Export of {} stopped after {} rows: {}", request.dataset().path(), rows[0],
+                    e.getCause().toString());
+            throw e.getCause();
+        } finally {
+            running.release();
+            meterRegistry.counter("bgf.export.rows", "dataset", request.dataset().path()).increment(rows[0]);
+        }
+        return rows[0];
+    }
+
+    private static PreparedStatement prepareCursor(Connection con, String sql) throws SQLException {
+        if (!con.isWrapperFor(JdbcConnection.class)) {
+            return con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        }
+        // Connector/J reads the flag when the statement is created. The
+        // unwrapped statement is not tracked by the pool; the JdbcTemplate
+        // closes it.
+        JdbcConnection mysql = con.unwrap(JdbcConnection.class);
+        RuntimeProperty<Boolean> cursorFetch = mysql.getPropertySet().getBooleanProperty(PropertyKey.useCursorFetch);
+        Boolean previous = cursorFetch.getValue();
+        cursorFetch.setValue(true);
+        try {
+            return mysql.serverPrepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        } finally {
+            cursorFetch.setValue(previous);
+        }
+    }
+
+    private static String sql(ExportRequest request) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", request.columns()))
+                .append(" FROM ").append(request.dataset().table())
+                .append(" WHERE created_at >= ? AND created_at < ?");
+        if (request.after() != null) {
+            sql.append(" AND (created_at > ? OR (created_at = ? AND id > ?))");
+        }
+        sql.append(" ORDER BY created_at, id");
+        if (request.limit() != null) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    private PreparedStatement statement(PreparedStatement ps, ExportRequest request) throws SQLException {
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(request.from()));
+        args.add(Timestamp.valueOf(request.to()));
+        if (request.after() != null) {
+            Timestamp createdAt = Timestamp.valueOf(request.after().createdAt());
+            args.add(createdAt);
+            args.add(createdAt);
+            args.add(request.after().id());
+        }
+        if (request.limit() != null) {
+            args.add(request.limit());
+        }
+        for (int i = 0; i < args.size(); i++) {
+            ps.setObject(i + 1, args.get(i));
+        }
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+
+    public static class ExportsBusyException extends RuntimeException {
+
+        public ExportsBusyException(String message) {
+            super(message);
+        }
+    }
+}
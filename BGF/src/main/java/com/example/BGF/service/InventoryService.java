@@ -0,0 +1,136 @@
+package com.example.BGF.service;
+
+import com.example.BGF.events.InventoryEvent;
+import com.example.BGF.models.InventoryMovement;
+import com.example.BGF.models.Product;
+import com.example.BGF.repository.InventoryMovementRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+// All stock changes go through here. Each one locks the product row, applies
+// the change and publishes an InventoryEvent carrying the movement; the
+// movement log (InventoryLogWriter) and the low-stock check (LowStockWatcher)
+// receive it through the outbox. Products with a null stock are not tracked.
+@Service
+@Timed(value = "bgf.service", histogram = true)
+public class InventoryService {
+
+    private final InventoryMovementRepository movementRepository;
+    private final ApplicationEventPublisher events;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${bgf.inventory.low-stock-threshold:5}")
+    private int defaultThreshold;
+
+    @Value("${bgf.inventory.history-limit:200}")
+    private int historyLimit;
+
+    public InventoryService(InventoryMovementRepository movementRepository, ApplicationEventPublisher events) {
+        this.movementRepository = movementRepository;
+        this.events = events;
+    }
+
+    // Takes stock for a new (or re-opened) order
+    @Transactional
+    public void reserve(Long productId, int quantity, Long orderId) {
+        Product product = lock(productId);
+        if (product.getStock() == null) {
+            return;
+        }
+        if (product.getStock() < quantity) {
+            throw new IllegalStateException("Insufficient stock for " + product.getName()
+                    + ": " + product.getStock() + " left");
+        }
+        product.setStock(product.getStock() - quantity);
+        record(product, InventoryMovement.RESERVATION, -quantity, orderId, null);
+    }
+
+    // Puts a cancelled order's quantity back
+    @Transactional
+    public void release(Long productId, int quantity, Long orderId) {
+        Product product = lock(productId);
+        if (product.getStock() == null) {
+            return;
+        }
+        product.setStock(product.getStock() + quantity);
+        record(product, InventoryMovement.CANCELLATION, quantity, orderId, null);
+    }
+
+    @Transactional
+    public Product restock(Long productId, int quantity, String actor) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Restock quantity must be greater than 0");
+        }
+        Product product = lock(productId);
+        product.setStock(Objects.requireNonNullElse(product.getStock(), 0) + quantity);
+        record(product, InventoryMovement.RESTOCK, quantity, null, actor);
+        return product;
+    }
+
+    // Manual correction to an absolute level, e.g. after a stock count
+    @Transactional
+    public void adjust(Long productId, int newStock, String actor) {
+        if (newStock < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+        Product product = lock(productId);
+        Integer before = product.getStock();
+        if (before != null && before == newStock) {
+            return;
+        }
+        product.setStock(newStock);
+        record(product, InventoryMovement.ADJUSTMENT, newStock - Objects.requireNonNullElse(before, 0), null, actor);
+    }
+
+    // Opening stock of a product that was just created
+    public void recordInitialStock(Product product, String actor) {
+        if (product.getStock() != null && product.getStock() > 0) {
+            record(product, InventoryMovement.RESTOCK, product.getStock(), null, actor);
+        }
+    }
+
+    // Re-checks the product after its threshold changed; nothing is logged
+    public void thresholdChanged(Product product) {
+        events.publishEvent(new InventoryEvent(product.getId(), product.getName(), product.getStock(),
+                thresholdOf(product), null));
+    }
+
+    public int thresholdOf(Product product) {
+        return Objects.requireNonNullElse(product.getLowStockThreshold(), defaultThreshold);
+    }
+
+    @Transactional(readOnly = true)
+    public List<InventoryMovement> getHistory(Long productId, int limit) {
+        return movementRepository.findByProductIdOrderByCreatedAtDesc(productId,
+                PageRequest.of(0, Math.max(1, Math.min(limit, historyLimit))));
+    }
+
+    // Row lock plus a re-read: the product may already be in the persistence
+    // context with a stock value read before the lock was taken
+    private Product lock(Long productId) {
+        Product product = entityManager.find(Product.class, productId);
+        if (product == null) {
+            throw new IllegalArgumentException("Product not found");
+        }
+        entityManager.refresh(product, LockModeType.PESSIMISTIC_WRITE);
+        return product;
+    }
+
+    private void record(Product product, String type, int change, Long orderId, String actor) {
+        InventoryMovement movement = new InventoryMovement(product.getId(), type, change, product.getStock(), orderId, actor);
+        events.publishEvent(new InventoryEvent(product.getId(), product.getName(), product.getStock(),
+                thresholdOf(product), movement));
+    }
+}
@@ -1,30 +1,57 @@
 package com.example.BGF.service;
 
+import com.example.BGF.events.OrderEvent;
+import com.example.BGF.models.BaseOrder;
 import com.example.BGF.models.Order;
 import com.example.BGF.models.Product;
 import com.example.BGF.models.User;
+import com.example.BGF.repository.ArchivedOrderRepository;
 import com.example.BGF.repository.OrderRepository;
 import com.example.BGF.repository.ProductRepository;
 import com.example.BGF.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "bgf.service", histogram = true)
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final ApplicationEventPublisher events;
 
-    public OrderService(OrderRepository orderRepository, UserRepository userRepository, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                        UserRepository userRepository, ProductRepository productRepository,
+                        InventoryService inventoryService, ApplicationEventPublisher events) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.inventoryService = inventoryService;
+        this.events = events;
     }
 
+    @Transactional
     public Order createOrder(Long userId, Long productId, int quantity, String shippingAddress, String paymentMethod, String notes) {
+        return createOrder(userId, productId, quantity, shippingAddress, paymentMethod, notes, null);
+    }
+
+    // expectedPrice is the unit price the buyer was shown (null: whatever it
+    // is now). It is compared with the price read under the product's row
+    // lock; a difference throws IllegalStateException and rolls back.
+    @Transactional
+    public Order createOrder(Long userId, Long productId, int quantity, String shippingAddress, String paymentMethod,
+                             String notes, Double expectedPrice) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         Product product = productRepository.findById(productId)
@@ -46,37 +73,85 @@ public class OrderService {
         order.setNotes(notes);
         order.setStatus("PENDING");
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        // Locks the product row and re-reads it into 'product'
+        inventoryService.reserve(productId, quantity, saved.getId());
+        if (expectedPrice != null && !expectedPrice.equals(product.getPrice())) {
+            throw new IllegalStateException("The price of " + product.getName() + " changed");
+        }
+        saved.setPrice(product.getPrice());
+        saved.setTotalAmount(product.getPrice() * quantity);
+        events.publishEvent(new OrderEvent(OrderEvent.Type.CREATED, saved));
+        return saved;
     }
 
 
-    public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findById(id);
+    // Live order, or its archived copy once OrderArchiver has moved it
+    @Transactional(readOnly = true)
+    public Optional<BaseOrder> getOrderById(Long id) {
+        Optional<BaseOrder> live = orderRepository.findById(id).map(order -> order);
+        return live.isPresent() ? live : archivedOrderRepository.findById(id).map(order -> order);
     }
 
+    // Open and recent orders; finished ones past the archive age are in getOrderHistory
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUser(User user) {
         return orderRepository.findByUser(user);
     }
 
 
+    @Transactional(readOnly = true)
     public List<Order> getOrdersForUser(User user) {
         return orderRepository.findByUser(user);
     }
+
+    // The user's live orders, then their archived ones placed on or after 'since', newest first
+    @Transactional(readOnly = true)
+    public List<BaseOrder> getOrderHistory(User user, LocalDateTime since) {
+        List<BaseOrder> history = new ArrayList<>(orderRepository.findByUser(user));
+        history.addAll(archivedOrderRepository.findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(user.getId(), since));
+        return history;
+    }
+
+    @Transactional
     public Order updateOrderStatus(Long orderId, String status) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+        Order order = findLiveOrder(orderId);
+        updateStock(order, status);
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        events.publishEvent(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, saved));
+        return saved;
     }
 
+    @Transactional
     public Order cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+        Order order = findLiveOrder(orderId);
+        updateStock(order, "CANCELLED");
         order.setStatus("CANCELLED");
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        events.publishEvent(new OrderEvent(OrderEvent.Type.CANCELLED, saved));
+        return saved;
+    }
+
+    // Archived orders are finished and can't change any more
+    private Order findLiveOrder(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow(() -> new RuntimeException(
+                archivedOrderRepository.existsById(orderId) ? "Order is archived and can no longer change" : "Order not found"));
+    }
+
+    // Cancelling gives the quantity back; re-opening a cancelled order takes it again
+    private void updateStock(Order order, String newStatus) {
+        boolean wasCancelled = "CANCELLED".equalsIgnoreCase(order.getStatus());
+        boolean cancelled = "CANCELLED".equalsIgnoreCase(newStatus);
+        if (!wasCancelled && cancelled) {
+            inventoryService.release(order.getProduct().getId(), order.getQuantity(), order.getId());
+        } else if (wasCancelled && !cancelled) {
+            inventoryService.reserve(order.getProduct().getId(), order.getQuantity(), order.getId());
+        }
     }
 }
@@ -0,0 +1,135 @@
+package com.example.BGF.service;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.monitoring.RequestContextTaskDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Everything the product page needs in one call. The parts run concurrently
+// on a small bounded pool, each with its own timeout; a part that fails or
+// times out is left out and named in "missing" instead of failing the page.
+@Service
+public class ProductPageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductPageService.class);
+
+    private final ProductService productService;
+    private final ReviewService reviewService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${bgf.product-page.timeout.product:1s}")
+    private Duration productTimeout;
+
+    @Value("${bgf.product-page.timeout.reviews:300ms}")
+    private Duration reviewsTimeout;
+
+    @Value("${bgf.product-page.timeout.rating:200ms}")
+    private Duration ratingTimeout;
+
+    @Value("${bgf.product-page.timeout.related:200ms}")
+    private Duration relatedTimeout;
+
+    @Value("${bgf.product-page.review-page-size:10}")
+    private int reviewPageSize;
+
+    @Value("${bgf.product-page.related-limit:8}")
+    private int relatedLimit;
+
+    public ProductPageService(ProductService productService,
+                              ReviewService reviewService,
+                              MeterRegistry meterRegistry,
+                              @Value("${bgf.product-page.pool-size:16}") int poolSize,
+                              @Value("${bgf.product-page.queue-capacity:256}") int queueCapacity) {
+        this.productService = productService;
+        this.reviewService = reviewService;
+        this.meterRegistry = meterRegistry;
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("product-page-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // Bounded: when full, parts are rejected and reported missing instead of queueing forever
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "productPage");
+    }
+
+    // Empty if the product doesn't exist. Throws if the product part itself
+    // failed, since there is no page without it.
+    public Optional<Map<String, Object>> getPage(Long id) {
+        CompletableFuture<Optional<Product>> product = part(() -> productService.getProductById(id), productTimeout);
+        CompletableFuture<Object> reviews = part(() -> reviewService.getLatestReviews(id, reviewPageSize), reviewsTimeout);
+        CompletableFuture<Object> rating = part(() -> reviewService.getRatingSummary(id), ratingTimeout);
+        CompletableFuture<Object> related = part(() -> productService.getRelatedProducts(id, relatedLimit), relatedTimeout);
+
+        List<String> missing = new ArrayList<>();
+        Optional<Product> found = join("product", product, missing);
+        if (found == null) {
+            throw new IllegalStateException("Product " + id + " unavailable");
+        }
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("product", found.get());
+        page.put("reviews", join("reviews", reviews, missing));
+        page.put("rating", join("rating", rating, missing));
+        page.put("related", join("related", related, missing));
+        page.put("missing", missing);
+        return Optional.of(page);
+    }
+
+    private <T> CompletableFuture<T> part(Supplier<T> supplier, Duration timeout) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException rejected) {
+            return CompletableFuture.failedFuture(rejected);
+        }
+    }
+
+    // The value, or null (and the part's name added to 'missing') on failure
+    private <T> T join(String name, CompletableFuture<T> future, List<String> missing) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String reason = cause instanceof TimeoutException ? "timeout"
+                    : cause instanceof RejectedExecutionException ? "rejected" : "error";
+            meterRegistry.counter("bgf.product_page.part.failures", "part", name, "reason", reason).increment();
+            if (reason.equals("error")) {
+                log.warn("Product page part '{}' failed", name, cause);
+            }
+            missing.add(name);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,66 +1,163 @@
 package com.example.BGF.service;
 
+import com.example.BGF.events.ProductChangedEvent;
+import com.example.BGF.images.ImageStore;
 import com.example.BGF.models.Product;
 import com.example.BGF.models.User;
 import com.example.BGF.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "bgf.service", histogram = true)
 public class ProductService {
 
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${bgf.batch.chunk-size:100}")
+    private int batchChunkSize;
+
+    // MATCH ... AGAINST on the FULLTEXT index instead of LIKE '%name%' (MySQL only)
+    @Value("${bgf.products.full-text-search:false}")
+    private boolean fullTextSearch;
+
     // Create
+    @Transactional
     public Product addProduct(Product product, User admin) {
         if (product.getName() == null || product.getName().isBlank()) {
             throw new IllegalArgumentException("Product name cannot be empty");
         }
         product.setAdmin(admin);  // sets the admin from the token
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        inventoryService.recordInitialStock(saved, admin != null ? admin.getUsername() : null);
+        events.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.ADDED, saved.getId()));
+        return saved;
     }
 
 
     // Read all
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
     // Read by id
+    @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
         return productRepository.findById(id);
     }
 
     // Update
-    public Product updateProduct(Long id, Product updatedProduct) {
+    @Transactional
+    public Product updateProduct(Long id, Product updatedProduct, User admin) {
+        // Stock first: the inventory lock re-reads the product row
+        if (updatedProduct.getStock() != null)
+            inventoryService.adjust(id, updatedProduct.getStock(), admin != null ? admin.getUsername() : null);
+
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
         if (updatedProduct.getPrice() != null)
             product.setPrice(updatedProduct.getPrice());
-        if (updatedProduct.getStock() != null)
-            product.setStock(updatedProduct.getStock());
         if (updatedProduct.getDescription() != null)
             product.setDescription(updatedProduct.getDescription());
+        if (updatedProduct.getLowStockThreshold() != null
+                && !updatedProduct.getLowStockThreshold().equals(product.getLowStockThreshold())) {
+            product.setLowStockThreshold(updatedProduct.getLowStockThreshold());
+            inventoryService.thresholdChanged(product);
+        }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        events.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, id));
+        return saved;
+    }
+
+    // Image upload: stored by content hash, then served from /images/<name>
+    @Transactional
+    public Product updateImage(Long id, byte[] image) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        product.setImageUrl("/images/" + imageStore.store(image));
+        Product saved = productRepository.save(product);
+        events.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, id));
+        return saved;
     }
 
     // Delete
+    @Transactional
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        events.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, id));
     }
 
     // Search by name
+    @Transactional(readOnly = true)
     public List<Product> searchByName(String name) {
+        if (fullTextSearch) {
+            String query = booleanModeQuery(name);
+            if (!query.isEmpty()) {
+                List<Long> ids = productRepository.searchFullText(query);
+                return ids.isEmpty() ? List.of() : productRepository.findByIdIn(ids);
+            }
+        }
         return productRepository.findByNameContainingIgnoreCase(name);
     }
 
+    // "pro bat" -> "+pro* +bat*": every word must match, as a prefix
+    static String booleanModeQuery(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : text.split("\\s+")) {
+            String cleaned = word.replaceAll("[^\\p{L}\\p{N}_]", "");
+            if (!cleaned.isEmpty()) {
+                terms.add("+" + cleaned + "*");
+            }
+        }
+        return String.join(" ", terms);
+    }
+
+    // Read many by id: same order as 'ids', null where missing. Goes through the
+    // persistence context and second-level cache, then one IN query per chunk.
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .withBatchSize(batchChunkSize)
+                .multiLoad(ids);
+    }
+
+    // Related products: same category, excluding the product itself
+    @Transactional(readOnly = true)
+    public List<Product> getRelatedProducts(Long id, int limit) {
+        return productRepository.findRelated(id, PageRequest.of(0, limit));
+    }
+
     // Filter by category
+    @Transactional(readOnly = true)
     public List<Product> filterByCategory(String category) {
         return productRepository.findByCategoryContainingIgnoreCase(category);
     }
@@ -1,66 +1,123 @@
 package com.example.BGF.service;
 
+import com.example.BGF.events.ReviewEvent;
 import com.example.BGF.models.Review;
 import com.example.BGF.repository.ReviewRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Timed(value = "bgf.service", histogram = true)
 public class ReviewService {
 
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ApplicationEventPublisher events;
+
     // --- Create ---
+    @Transactional
     public Review saveReview(Review review) {
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        publish(ReviewEvent.Type.CREATED, saved);
+        return saved;
     }
 
     // --- Read all ---
+    @Transactional(readOnly = true)
     public List<Review> getAllReviews() {
         return reviewRepository.findAll();
     }
 
     // --- Read by ID ---
+    @Transactional(readOnly = true)
     public Review getReviewById(Long id) {
         return reviewRepository.findById(id).orElse(null);
     }
 
     // --- Update ---
+    @Transactional
     public Review updateReview(Long id, Review updatedReview) {
         Review review = reviewRepository.findById(id).orElse(null);
         if (review != null) {
             review.setRating(updatedReview.getRating());
             review.setComment(updatedReview.getComment());
-            return reviewRepository.save(review);
+            Review saved = reviewRepository.save(review);
+            publish(ReviewEvent.Type.UPDATED, saved);
+            return saved;
         }
         return null;
     }
 
     // --- Delete ---
+    @Transactional
     public boolean deleteReviewByAdmin(Long id) {
-        if (reviewRepository.existsById(id)) {
-            reviewRepository.deleteById(id);
+        Review review = reviewRepository.findById(id).orElse(null);
+        if (review != null) {
+            reviewRepository.delete(review);
+            publish(ReviewEvent.Type.DELETED, review);
             return true;
         }
         return false;
     }
 
     // --- Find reviews by product ---
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByProduct(Long productId) {
         return reviewRepository.findByProductId(productId);
     }
 
     // --- Find reviews by user ---
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByUser(Long userId) {
         return reviewRepository.findByUserId(userId);
     }
 
+    // --- First page of a product's reviews, newest first ---
+    @Transactional(readOnly = true)
+    public List<Review> getLatestReviews(Long productId, int limit) {
+        return reviewRepository.findByProductIdOrderByCreatedAtDesc(productId, PageRequest.of(0, limit));
+    }
+
     // --- Get average rating of a product ---
+    @Transactional(readOnly = true)
     public double getAverageRating(Long productId) {
-        List<Review> reviews = reviewRepository.findByProductId(productId);
-        return reviews.stream().mapToInt(Review::getRating).average().orElse(0.0);
+        return (double) getRatingSummary(productId).get("average");
+    }
+
+    // --- Review count, average and per-star histogram, from one GROUP BY ---
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRatingSummary(Long productId) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            histogram.put(stars, 0L);
+        }
+        long count = 0;
+        long total = 0;
+        for (Object[] row : reviewRepository.countByRating(productId)) {
+            int rating = ((Number) row[0]).intValue();
+            long n = ((Number) row[1]).longValue();
+            histogram.merge(rating, n, Long::sum);
+            count += n;
+            total += rating * n;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("average", count == 0 ? 0.0 : (double) total / count);
+        summary.put("histogram", histogram);
+        return summary;
+    }
+
+    private void publish(ReviewEvent.Type type, Review review) {
+        events.publishEvent(new ReviewEvent(type, review.getId(), review.getProduct().getId(), review.getRating()));
     }
 }
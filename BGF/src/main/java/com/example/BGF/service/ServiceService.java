@@ -5,6 +5,7 @@ import com.example.BGF.models.User;
 import com.example.BGF.repository.ServiceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -25,6 +26,7 @@ public class ServiceService {
         return serviceRepository.save(service);
     }
 
+    @Transactional(readOnly = true)
     public List<AppService> getAllServices() {
         return serviceRepository.findAll();
     }
@@ -2,39 +2,68 @@ package com.example.BGF.service;
 
 import com.example.BGF.models.User;
 import com.example.BGF.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "bgf.service", histogram = true)
 public class UserService {
 
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final Timer bcryptEncodeTimer;
+    private final Timer bcryptMatchTimer;
 
-    public UserService(UserRepository userRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${bgf.batch.chunk-size:100}")
+    private int batchChunkSize;
+
+    public UserService(UserRepository userRepository, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.bcryptEncodeTimer = Timer.builder("bgf.security.bcrypt")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.bcryptMatchTimer = Timer.builder("bgf.security.bcrypt")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     public User register(User user) {
-        user.setPassword(encoder.encode(user.getPassword()));
+        user.setPassword(encode(user.getPassword()));
         return userRepository.save(user);
     }
 
+    // Stays on the primary: login straight after registration must find the user
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return encoder.matches(rawPassword, encodedPassword);
+        return matches(rawPassword, encodedPassword);
     }
 
     // Update user profile
+    @Transactional
     public User updateProfile(Long userId, User updatedUser) {
         return userRepository.findById(userId)
                 .map(existingUser -> {
@@ -65,30 +94,33 @@ public class UserService {
     }
 
     // Update password
+    @Transactional
     public User updatePassword(Long userId, String currentPassword, String newPassword) {
         return userRepository.findById(userId)
                 .map(user -> {
                     // Verify current password
-                    if (!encoder.matches(currentPassword, user.getPassword())) {
+                    if (!matches(currentPassword, user.getPassword())) {
                         throw new RuntimeException("Current password is incorrect");
                     }
-                    user.setPassword(encoder.encode(newPassword));
+                    user.setPassword(encode(newPassword));
                     return userRepository.save(user);
                 })
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
     }
 
     // Admin: Update any user's password
+    @Transactional
     public User adminUpdatePassword(Long userId, String newPassword) {
         return userRepository.findById(userId)
                 .map(user -> {
-                    user.setPassword(encoder.encode(newPassword));
+                    user.setPassword(encode(newPassword));
                     return userRepository.save(user);
                 })
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
     }
 
     // Activate/Deactivate user
+    @Transactional
     public User setUserActiveStatus(Long userId, boolean active) {
         return userRepository.findById(userId)
                 .map(user -> {
@@ -99,6 +131,7 @@ public class UserService {
     }
 
     // Set availability status
+    @Transactional
     public User setUserAvailability(Long userId, boolean available) {
         return userRepository.findById(userId)
                 .map(user -> {
@@ -109,7 +142,26 @@ public class UserService {
     }
 
     // Get user profile
+    @Transactional(readOnly = true)
     public Optional<User> getUserProfile(Long userId) {
         return userRepository.findById(userId);
     }
-}
\ No newline at end of file
+
+    // Same order as 'ids', null where missing; one IN query per chunk
+    @Transactional(readOnly = true)
+    public List<User> getUsersByIds(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .withBatchSize(batchChunkSize)
+                .multiLoad(ids);
+    }
+
+    // --- BCrypt is the most expensive thing on the login path, so time it separately ---
+    private String encode(String rawPassword) {
+        return bcryptEncodeTimer.record(() -> encoder.encode(rawPassword));
+    }
+
+    private boolean matches(String rawPassword, String encodedPassword) {
+        return Boolean.TRUE.equals(bcryptMatchTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+}
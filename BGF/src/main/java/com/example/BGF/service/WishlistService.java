@@ -0,0 +1,92 @@
+package com.example.BGF.service;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.wishlist.WishlistIndex;
+import com.example.BGF.wishlist.WishlistedBy;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Server-side wishlists (WishlistIndex). Membership, counts and the reverse
+// lookup are answered from memory; only product details come from the
+// database, as one multi-get.
+@Service
+@Timed(value = "bgf.service", histogram = true)
+public class WishlistService {
+
+    // Products fetched per multi-get while looking for out-of-stock demand
+    private static final int DEMAND_CHUNK = 100;
+
+    private final WishlistIndex wishlistIndex;
+    private final ProductService productService;
+
+    @Value("${bgf.wishlist.max-items:200}")
+    private int maxItems;
+
+    public WishlistService(WishlistIndex wishlistIndex, ProductService productService) {
+        this.wishlistIndex = wishlistIndex;
+        this.productService = productService;
+    }
+
+    public List<Product> getWishlist(User user) {
+        List<Long> ids = wishlistIndex.productIds(user.getId());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return productService.getProductsByIds(ids).stream().filter(Objects::nonNull).toList();
+    }
+
+    // Returns how many users now have the product on their wishlist
+    public int add(User user, Long productId) {
+        if (productService.getProductsByIds(List.of(productId)).get(0) == null) {
+            throw new IllegalArgumentException("Product not found");
+        }
+        wishlistIndex.add(user.getId(), productId, maxItems);
+        return wishlistIndex.count(productId);
+    }
+
+    public int remove(User user, Long productId) {
+        wishlistIndex.remove(user.getId(), productId);
+        return wishlistIndex.count(productId);
+    }
+
+    public Map<Long, Integer> getCounts(List<Long> productIds) {
+        return wishlistIndex.counts(productIds);
+    }
+
+    public WishlistedBy getWishlistedBy(Long productId, Long after, int limit) {
+        return wishlistIndex.wishlistedBy(productId, after, limit);
+    }
+
+    // Most wishlisted products with their stock, optionally only those out
+    // of stock. Walks the products in count order, a chunk per multi-get,
+    // until 'limit' have been found.
+    public List<Map<String, Object>> getDemand(int limit, boolean outOfStockOnly) {
+        List<Map.Entry<Long, Integer>> ranked = wishlistIndex.mostWishlisted();
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int from = 0; from < ranked.size() && result.size() < limit; from += DEMAND_CHUNK) {
+            List<Map.Entry<Long, Integer>> chunk = ranked.subList(from, Math.min(from + DEMAND_CHUNK, ranked.size()));
+            List<Product> products = productService.getProductsByIds(chunk.stream().map(Map.Entry::getKey).toList());
+            for (int i = 0; i < chunk.size() && result.size() < limit; i++) {
+                Product product = products.get(i);
+                if (product == null || outOfStockOnly && (product.getStock() == null || product.getStock() > 0)) {
+                    continue;
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("productId", product.getId());
+                row.put("name", product.getName());
+                row.put("stock", product.getStock());
+                row.put("wishlistedBy", chunk.get(i).getValue());
+                result.add(row);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.BGF.startup;
+
+import jakarta.servlet.Filter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+// With spring.main.lazy-initialization=true (faststart profile) everything is
+// created on first use. The request path is still built at startup so the
+// first request after a scale-out doesn't pay for it.
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter hotPathBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType.isAnnotationPresent(RestController.class)
+                        || beanType.isAnnotationPresent(Service.class)
+                        || Filter.class.isAssignableFrom(beanType)
+                        || beanType.getPackageName().equals("com.example.BGF.security");
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.BGF.startup;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.security.JwtUtil;
+import com.example.BGF.service.OrderService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs a synthetic workload through the real stack before the instance takes
+// traffic, so the first users after a deploy don't pay for the interpreter,
+// Hibernate metadata, Jackson serializers and fresh pool connections.
+//
+// Boot only switches readiness to ACCEPTING_TRAFFIC once every
+// ApplicationReadyEvent listener has returned, so running here (last, on the
+// main thread) keeps /actuator/health/readiness at OUT_OF_SERVICE until the
+// warm-up is done. Requests go over HTTP to the embedded server and only
+// read; orders are placed inside transactions that are rolled back.
+// Latency of each step's first call and its average over the last rounds
+// are logged and kept as bgf.warmup.latency{step,phase}.
+@Component
+public class WarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUp.class);
+
+    // Rounds at the end, run one at a time, that give the "after" latency
+    private static final int MEASURED_ROUNDS = 10;
+
+    private final ApplicationContext context;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final OrderService orderService;
+    private final JwtUtil jwtUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, double[]> latencies = new LinkedHashMap<>();
+    private volatile double lastDurationSeconds;
+
+    @Value("${bgf.warmup.enabled:true}")
+    private boolean enabled;
+
+    // Each round runs every step once
+    @Value("${bgf.warmup.rounds:300}")
+    private int rounds;
+
+    @Value("${bgf.warmup.concurrency:4}")
+    private int concurrency;
+
+    // Readiness is never held back longer than this
+    @Value("${bgf.warmup.max-duration:60s}")
+    private Duration maxDuration;
+
+    // Replayed as GETs, with a token for an existing user
+    @Value("${bgf.warmup.paths:/products/all,/api/orders}")
+    private List<String> paths;
+
+    // Places and rolls back an order each round
+    @Value("${bgf.warmup.orders:true}")
+    private boolean orders;
+
+    public WarmUp(ApplicationContext context, UserRepository userRepository, ProductRepository productRepository,
+                  OrderService orderService, JwtUtil jwtUtil, PlatformTransactionManager transactionManager,
+                  MeterRegistry meterRegistry) {
+        this.context = context;
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.orderService = orderService;
+        this.jwtUtil = jwtUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("bgf.warmup.duration", this, warmUp -> warmUp.lastDurationSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReady() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    // Runs the whole workload; returns false when there was no server to call
+    public boolean run() {
+        if (!(context instanceof WebServerApplicationContext web) || web.getWebServer().getPort() <= 0) {
+            log.info("Warm-up skipped: no embedded web server");
+            return false;
+        }
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        Map<String, Step> steps = steps("http://localhost:" + web.getWebServer().getPort()
+                + context.getEnvironment().getProperty("server.servlet.context-path", ""));
+        AtomicInteger failures = new AtomicInteger();
+
+        Map<String, Double> first = new LinkedHashMap<>();
+        steps.forEach((name, step) -> first.put(name, time(step, failures)));
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread thread = new Thread(r, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int worker = 0; worker < Math.max(1, concurrency); worker++) {
+                pool.execute(() -> {
+                    for (int round = 0; round < rounds / Math.max(1, concurrency); round++) {
+                        if (System.nanoTime() > deadline) {
+                            return;
+                        }
+                        steps.values().forEach(step -> time(step, failures));
+                    }
+                });
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Warm-up hit bgf.warmup.max-duration={}; taking traffic anyway", maxDuration);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Double> last = new LinkedHashMap<>();
+        steps.forEach((name, step) -> {
+            double total = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                total += time(step, failures);
+            }
+            last.put(name, total / MEASURED_ROUNDS);
+        });
+
+        lastDurationSeconds = (System.nanoTime() - started) / 1e9;
+        first.forEach((name, before) -> record(name, before, last.get(name)));
+        log.info("Warm-up finished in {} s ({} failed calls); first call -> warm average, ms: {}",
+                String.format("%.1f", lastDurationSeconds), failures.get(), summary(first, last));
+        return true;
+    }
+
+    private Map<String, Step> steps(String baseUrl) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Optional<User> user = userRepository.findAll(PageRequest.of(0, 1)).stream().findFirst();
+        Optional<Product> product = productRepository.findAll(PageRequest.of(0, 1)).stream().findFirst();
+        String token = user.map(u -> jwtUtil.generateToken(u.getUsername(), u.getRole())).orElse(null);
+
+        Map<String, Step> steps = new LinkedHashMap<>();
+        for (String path : paths) {
+            steps.put("GET " + path, () -> {
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+                if (token != null) {
+                    request.header("Authorization", "Bearer " + token);
+                }
+                return send(client, request);
+            });
+        }
+        // An unknown user: the whole login path short of a real password check
+        steps.put("POST /auth/login", () -> send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"warm-up\",\"password\":\"warm-up\"}"))));
+        steps.put("JwtUtil.generateToken", () -> {
+            String signed = jwtUtil.generateToken("warm-up", "USER");
+            return jwtUtil.extractUsername(signed).equals("warm-up");
+        });
+        if (orders && user.isPresent() && product.isPresent()) {
+            Long userId = user.get().getId();
+            Long productId = product.get().getId();
+            steps.put("OrderService.createOrder (rolled back)", () -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    orderService.createOrder(userId, productId, 1, "warm-up", "CARD", null);
+                });
+                return true;
+            });
+        }
+        return steps;
+    }
+
+    private static boolean send(HttpClient client, HttpRequest.Builder request) throws Exception {
+        HttpResponse<Void> response = client.send(request.timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 500;
+    }
+
+    // Milliseconds taken; an exception or a 5xx counts as a failure
+    private static double time(Step step, AtomicInteger failures) {
+        long start = System.nanoTime();
+        try {
+            if (!step.run()) {
+                failures.incrementAndGet();
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private void record(String step, double before, double after) {
+        double[] values = latencies.computeIfAbsent(step, name -> {
+            double[] holder = new double[2];
+            Gauge.builder("bgf.warmup.latency", holder, h -> h[0]).tag("step", name).tag("phase", "first")
+                    .baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("bgf.warmup.latency", holder, h -> h[1]).tag("step", name).tag("phase", "warm")
+                    .baseUnit("milliseconds").register(meterRegistry);
+            return holder;
+        });
+        values[0] = before;
+        values[1] = after;
+    }
+
+    private static String summary(Map<String, Double> first, Map<String, Double> last) {
+        List<String> parts = new ArrayList<>();
+        first.forEach((name, before) ->
+                parts.add(String.format("%s %.1f -> %.2f", name, before, last.get(name))));
+        return String.join(", ", parts);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        // false for a failed call that still exercised the path
+        boolean run() throws Exception;
+    }
+}
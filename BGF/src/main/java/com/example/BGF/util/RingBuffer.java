@@ -0,0 +1,94 @@
+package com.example.BGF.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded multi-producer queue without locks (Vyukov's array queue). Each
+// slot carries a sequence number saying whose turn it is: a producer claims
+// a slot with one CAS on the tail, writes the item and then publishes it by
+// bumping the slot's sequence; the consumer does the same on the head.
+// offer() fails instead of blocking when the ring is full.
+public class RingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Capacity is rounded up to a power of two
+    public RingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        items = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T item) {
+        long position = tail.get();
+        for (;;) {
+            int slot = (int) (position & mask);
+            long lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.set(slot, item);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false; // the consumer hasn't freed this slot yet: full
+            } else {
+                position = tail.get(); // another producer got here first
+            }
+        }
+    }
+
+    public T poll() {
+        long position = head.get();
+        for (;;) {
+            int slot = (int) (position & mask);
+            long lag = sequences.get(slot) - (position + 1);
+            if (lag == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = items.getAndSet(slot, null);
+                    sequences.set(slot, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (lag < 0) {
+                return null; // nothing published here yet: empty
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    // Moves up to max items into the list; returns how many
+    public int drainTo(List<? super T> sink, int max) {
+        int drained = 0;
+        T item;
+        while (drained < max && (item = poll()) != null) {
+            sink.add(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    // Approximate while producers or the consumer are active
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.BGF.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Collapses concurrent calls for the same key into one: the first caller
+// runs the loader, callers arriving while it runs wait for and share its
+// result (or exception). Nothing is cached once the call finishes.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V get(K key, Supplier<V> loader) {
+        return call(key, loader).value;
+    }
+
+    // Like get(), but also says whether the value came from another caller's load
+    public Result<V> call(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return new Result<>(existing.join(), true);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public record Result<V>(V value, boolean shared) {
+    }
+}
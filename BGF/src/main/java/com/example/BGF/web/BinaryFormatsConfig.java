@@ -0,0 +1,29 @@
+package com.example.BGF.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Lets clients ask for CBOR (Accept: application/cbor) or Smile
+// (Accept: application/x-jackson-smile) instead of JSON on every endpoint.
+// Both mappers come from Boot's builder, so spring.jackson.* settings and the
+// entities' Jackson annotations give the same shapes as the JSON responses.
+// Declaring them as beans replaces MVC's defaults for these types in place,
+// after the JSON converter, so JSON stays the answer to a missing or */* Accept.
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.BGF.wishlist;
+
+import java.util.Arrays;
+
+// A set of non-negative ids as a sorted int array, and its packed form: the
+// gap to the previous id as a varint (7 bits a byte, high bit set on all but
+// the last byte). Ids close together, as a catalog's tend to be, take one or
+// two bytes each, so a ten-product wishlist packs into about 15 bytes.
+//
+// Arrays are never changed in place; add and remove return a new one, or the
+// same one when there is nothing to do.
+final class SortedIds {
+
+    static final int[] EMPTY = new int[0];
+
+    // Worst case per id: a gap needing all 32 bits
+    static final int MAX_BYTES_PER_ID = 5;
+
+    private SortedIds() {
+    }
+
+    static boolean contains(int[] ids, int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    static int[] add(int[] ids, int id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return ids;
+        }
+        int insert = -at - 1;
+        int[] result = new int[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insert);
+        result[insert] = id;
+        System.arraycopy(ids, insert, result, insert + 1, ids.length - insert);
+        return result;
+    }
+
+    static int[] remove(int[] ids, int id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return EMPTY;
+        }
+        int[] result = new int[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        System.arraycopy(ids, at + 1, result, at, ids.length - at - 1);
+        return result;
+    }
+
+    static byte[] pack(int[] ids) {
+        byte[] buffer = new byte[ids.length * MAX_BYTES_PER_ID];
+        int position = 0;
+        int previous = 0;
+        for (int id : ids) {
+            int gap = id - previous;
+            previous = id;
+            while ((gap & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            buffer[position++] = (byte) gap;
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    static int[] unpack(byte[] packed) {
+        int count = 0;
+        for (byte b : packed) {
+            if (b >= 0) {
+                count++;
+            }
+        }
+        int[] ids = new int[count];
+        int n = 0;
+        int value = 0;
+        int shift = 0;
+        int previous = 0;
+        for (byte b : packed) {
+            value |= (b & 0x7F) << shift;
+            if (b < 0) {
+                shift += 7;
+            } else {
+                previous += value;
+                ids[n++] = previous;
+                value = 0;
+                shift = 0;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.BGF.wishlist;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.ProductChangedEvent;
+import com.example.BGF.outbox.EventOnlySubscriber;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+// Every wishlist, held in memory in packed form (SortedIds) and written
+// through to the wishlists table, one row per user. Rebuilt from the table
+// at startup; like the booking calendars this assumes a single instance.
+//
+// Two views are kept up to date on each change instead of being counted on
+// demand: the number of users per product, read without locking for the
+// "wishlisted by N" badges, and a reverse index from each product to a
+// RoaringBitmap of user ids for the admin "who wants this" query. Product
+// and user ids must fit in an int.
+//
+// Writes are serialized per user by striped locks. A product's bitmap is
+// only touched inside ConcurrentHashMap.compute for its key.
+@Component
+public class WishlistIndex implements EventOnlySubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(WishlistIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, byte[]> byUser = new ConcurrentHashMap<>();
+    private final Map<Integer, RoaringBitmap> usersByProduct = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> counts = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    // Users changed before the rebuild finished; their rows are already loaded
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilt;
+
+    public WishlistIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                         @Value("${bgf.wishlist.lock-stripes:64}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        meterRegistry.gauge("bgf.wishlist.users", byUser, Map::size);
+        meterRegistry.gauge("bgf.wishlist.products", counts, Map::size);
+        meterRegistry.gauge("bgf.wishlist.packed.bytes", byUser,
+                users -> users.values().stream().mapToLong(packed -> packed.length).sum());
+    }
+
+    // Ascending product ids
+    public List<Long> productIds(Long userId) {
+        byte[] packed = byUser.get(userId);
+        if (packed == null) {
+            return List.of();
+        }
+        int[] ids = SortedIds.unpack(packed);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add((long) id);
+        }
+        return result;
+    }
+
+    public int count(Long productId) {
+        return counts.getOrDefault(Math.toIntExact(productId), 0);
+    }
+
+    // Same order as productIds, 0 where nobody wishlisted the product
+    public Map<Long, Integer> counts(Collection<Long> productIds) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            result.put(productId, count(productId));
+        }
+        return result;
+    }
+
+    // Every wishlisted product with its count, most wanted first
+    public List<Map.Entry<Long, Integer>> mostWishlisted() {
+        return counts.entrySet().stream()
+                .map(entry -> Map.entry((long) entry.getKey(), entry.getValue()))
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+    }
+
+    // Users after 'after' (exclusive, null for the first page) who have the
+    // product on their wishlist
+    public WishlistedBy wishlistedBy(Long productId, Long after, int limit) {
+        List<Long> userIds = new ArrayList<>(Math.min(limit, 1024));
+        int[] total = new int[1];
+        boolean[] more = new boolean[1];
+        usersByProduct.computeIfPresent(Math.toIntExact(productId), (id, users) -> {
+            total[0] = users.getCardinality();
+            PeekableIntIterator it = users.getIntIterator();
+            if (after != null) {
+                it.advanceIfNeeded(Math.toIntExact(after + 1));
+            }
+            while (it.hasNext() && userIds.size() < limit) {
+                userIds.add((long) it.next());
+            }
+            more[0] = it.hasNext();
+            return users;
+        });
+        Long next = more[0] ? userIds.get(userIds.size() - 1) : null;
+        return new WishlistedBy(productId, total[0], List.copyOf(userIds), next);
+    }
+
+    // Returns false if the product was already there; throws
+    // IllegalArgumentException if the wishlist already holds maxItems
+    public boolean add(Long userId, Long productId, int maxItems) {
+        int product = Math.toIntExact(productId);
+        return change(userId, ids -> {
+            if (SortedIds.contains(ids, product)) {
+                return ids;
+            }
+            if (ids.length >= maxItems) {
+                throw new IllegalArgumentException("A wishlist holds at most " + maxItems + " products");
+            }
+            return SortedIds.add(ids, product);
+        });
+    }
+
+    // Returns false if the product was not there
+    public boolean remove(Long userId, Long productId) {
+        int product = Math.toIntExact(productId);
+        return change(userId, ids -> SortedIds.remove(ids, product));
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(ProductChangedEvent.class);
+    }
+
+    // A deleted product leaves every wishlist it was on
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof ProductChangedEvent changed
+                    && changed.getType() == ProductChangedEvent.Type.DELETED) {
+                int product = Math.toIntExact(changed.getProductId());
+                for (Long userId : allUsers(product)) {
+                    change(userId, ids -> SortedIds.remove(ids, product));
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        jdbcTemplate.query("SELECT user_id, product_ids FROM wishlists", rs -> {
+            Long userId = rs.getLong("user_id");
+            byte[] packed = rs.getBytes("product_ids");
+            ReentrantLock lock = stripeOf(userId);
+            lock.lock();
+            try {
+                if (!changedDuringRebuild.contains(userId) && byUser.putIfAbsent(userId, packed) == null) {
+                    reindex(userId, SortedIds.EMPTY, SortedIds.unpack(packed));
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        rebuilt = true;
+        changedDuringRebuild.clear();
+        log.info("Wishlists loaded: {} users, {} products", byUser.size(), counts.size());
+    }
+
+    // Applies the change with the user's lock held, writes the result
+    // through and updates both indexes. Returns whether anything changed.
+    private boolean change(Long userId, UnaryOperator<int[]> change) {
+        ReentrantLock lock = stripeOf(userId);
+        lock.lock();
+        try {
+            byte[] packed = byUser.get(userId);
+            if (packed == null && !rebuilt) {
+                // The rebuild skips this user from now on, so its stored row is indexed here
+                changedDuringRebuild.add(userId);
+                packed = load(userId);
+                if (packed != null) {
+                    reindex(userId, SortedIds.EMPTY, SortedIds.unpack(packed));
+                    byUser.put(userId, packed);
+                }
+            }
+            int[] before = packed != null ? SortedIds.unpack(packed) : SortedIds.EMPTY;
+            int[] after = change.apply(before);
+            if (after == before) {
+                return false;
+            }
+            byte[] next = after.length == 0 ? null : SortedIds.pack(after);
+            if (next == null) {
+                jdbcTemplate.update("DELETE FROM wishlists WHERE user_id = ?", userId);
+            } else {
+                write(userId, next);
+            }
+            // Indexes first, so whoever sees the new wishlist sees its counts
+            reindex(userId, before, after);
+            if (next == null) {
+                byUser.remove(userId);
+            } else {
+                byUser.put(userId, next);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Long userId, byte[] packed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update("UPDATE wishlists SET product_ids = ?, updated_at = ? WHERE user_id = ?",
+                packed, now, userId) == 0) {
+            jdbcTemplate.update("INSERT INTO wishlists (user_id, product_ids, updated_at) VALUES (?, ?, ?)",
+                    userId, packed, now);
+        }
+    }
+
+    private byte[] load(Long userId) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT product_ids FROM wishlists WHERE user_id = ?",
+                (rs, row) -> rs.getBytes("product_ids"), userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void reindex(Long userId, int[] before, int[] after) {
+        int user = Math.toIntExact(userId);
+        for (int product : before) {
+            if (!SortedIds.contains(after, product)) {
+                usersByProduct.computeIfPresent(product, (id, users) -> {
+                    users.remove(user);
+                    return users.isEmpty() ? null : users;
+                });
+                counts.computeIfPresent(product, (id, count) -> count == 1 ? null : count - 1);
+            }
+        }
+        for (int product : after) {
+            if (!SortedIds.contains(before, product)) {
+                usersByProduct.compute(product, (id, users) -> {
+                    RoaringBitmap bitmap = users != null ? users : new RoaringBitmap();
+                    bitmap.add(user);
+                    return bitmap;
+                });
+                counts.merge(product, 1, Integer::sum);
+            }
+        }
+    }
+
+    private List<Long> allUsers(int product) {
+        List<Long> userIds = new ArrayList<>();
+        usersByProduct.computeIfPresent(product, (id, users) -> {
+            users.forEach((int user) -> userIds.add((long) user));
+            return users;
+        });
+        return userIds;
+    }
+
+    private ReentrantLock stripeOf(Long userId) {
+        int hash = Long.hashCode(userId);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
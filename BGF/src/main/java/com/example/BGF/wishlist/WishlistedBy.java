@@ -0,0 +1,8 @@
+package com.example.BGF.wishlist;
+
+import java.util.List;
+
+// One page of the users who wishlisted a product, in user id order. Pass
+// 'next' as 'after' for the following page; it is null on the last one.
+public record WishlistedBy(Long productId, int total, List<Long> userIds, Long next) {
+}
@@ -0,0 +1,11 @@
+-- Server-side carts, one row per line, written behind by CartStore. No
+-- foreign key to products: lines of a deleted product are dropped when the
+-- cart is next revalidated.
+CREATE TABLE cart_items (
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    unit_price FLOAT(53),
+    added_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, product_id)
+);
@@ -0,0 +1,9 @@
+-- One row per user with a non-empty wishlist. product_ids holds the sorted
+-- product ids as varint-encoded gaps (see SortedIds), so a typical wishlist
+-- is a few bytes rather than a row per product. No foreign keys: a deleted
+-- product is taken out of every wishlist by WishlistIndex.
+CREATE TABLE wishlists (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    product_ids VARBINARY(2048) NOT NULL,
+    updated_at DATETIME(6) NOT NULL
+);
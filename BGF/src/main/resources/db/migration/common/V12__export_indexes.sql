@@ -0,0 +1,4 @@
+-- ExportService reads in (created_at, id) order over a date range; orders
+-- already has idx_orders_created
+CREATE INDEX idx_reviews_created ON reviews (created_at);
+CREATE INDEX idx_orders_archive_created ON orders_archive (created_at);
@@ -0,0 +1,14 @@
+-- Outbox id of the event a movement came from; the unique key turns a
+-- redelivered event into a no-op instead of a second row
+ALTER TABLE inventory_movements ADD COLUMN event_id BIGINT;
+CREATE UNIQUE INDEX uk_inventory_movements_event ON inventory_movements (event_id);
+
+-- Events a subscriber gave up on after its last attempt. The outbox row
+-- (and its payload) is not purged while it has dead letters here.
+CREATE TABLE outbox_dead_letters (
+    event_id BIGINT NOT NULL,
+    subscriber VARCHAR(100) NOT NULL,
+    error VARCHAR(1000),
+    failed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id, subscriber)
+);
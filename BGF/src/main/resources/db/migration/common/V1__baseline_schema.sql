@@ -0,0 +1,77 @@
+-- Schema as Hibernate used to create it with ddl-auto=update.
+-- Databases created that way are baselined at this version (see
+-- spring.flyway.baseline-on-migrate) and pick up from V2.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    email VARCHAR(255),
+    full_name VARCHAR(255),
+    service_type VARCHAR(255),
+    address VARCHAR(255),
+    phone VARCHAR(255),
+    active BIT NOT NULL,
+    available BIT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    price FLOAT(53),
+    stock INTEGER,
+    category VARCHAR(255),
+    image_url VARCHAR(255),
+    admin_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_products_admin FOREIGN KEY (admin_id) REFERENCES users (id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    price FLOAT(53) NOT NULL,
+    total_amount FLOAT(53) NOT NULL,
+    shipping_address VARCHAR(255),
+    payment_method VARCHAR(255),
+    notes VARCHAR(255),
+    status VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_orders_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE reviews (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    rating INTEGER NOT NULL,
+    comment VARCHAR(1000),
+    created_at DATETIME(6),
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reviews_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE services (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    price FLOAT(53),
+    images VARCHAR(255),
+    category VARCHAR(255),
+    status VARCHAR(255),
+    provider_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_services_provider FOREIGN KEY (provider_id) REFERENCES users (id)
+);
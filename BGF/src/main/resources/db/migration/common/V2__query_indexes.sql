@@ -0,0 +1,21 @@
+-- One index per repository predicate. Composite indexes lead with the
+-- foreign key, so MySQL reuses them for the constraint as well.
+
+-- ProductRepository.findByCategoryContainingIgnoreCase / category filters
+CREATE INDEX idx_products_category ON products (category);
+-- ProductRepository.findByNameContainingIgnoreCase, name prefix lookups
+CREATE INDEX idx_products_name ON products (name);
+CREATE INDEX idx_products_admin ON products (admin_id);
+
+-- ReviewRepository.findByProductId; rating makes the average index-only
+CREATE INDEX idx_reviews_product_rating ON reviews (product_id, rating);
+-- ReviewRepository.findByUserId, newest first
+CREATE INDEX idx_reviews_user_created ON reviews (user_id, created_at);
+
+-- OrderRepository.findByUser, newest first
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at);
+-- Admin order list and date-range reporting
+CREATE INDEX idx_orders_created ON orders (created_at);
+CREATE INDEX idx_orders_product ON orders (product_id);
+
+CREATE INDEX idx_services_provider ON services (provider_id);
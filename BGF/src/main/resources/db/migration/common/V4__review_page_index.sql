@@ -0,0 +1,2 @@
+-- ReviewRepository.findByProductIdOrderByCreatedAtDesc: newest reviews of a product
+CREATE INDEX idx_reviews_product_created ON reviews (product_id, created_at);
@@ -0,0 +1,19 @@
+-- Append-only stock history. No foreign key to products so the log
+-- outlives the product it describes.
+CREATE TABLE inventory_movements (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quantity_change INTEGER NOT NULL,
+    stock_after INTEGER,
+    order_id BIGINT,
+    actor VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- InventoryMovementRepository.findByProductIdOrderByCreatedAtDesc: history of a product
+CREATE INDEX idx_inventory_product_created ON inventory_movements (product_id, created_at);
+
+-- Per-product low-stock alert level; NULL means bgf.inventory.low-stock-threshold
+ALTER TABLE products ADD COLUMN low_stock_threshold INTEGER;
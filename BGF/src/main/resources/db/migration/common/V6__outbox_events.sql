@@ -0,0 +1,16 @@
+-- Domain events written in the same transaction as the change that caused
+-- them; OutboxDispatcher delivers them and sets dispatched_at.
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+-- Poller (dispatched_at IS NULL, by id) and purge (dispatched_at < cutoff)
+CREATE INDEX idx_outbox_dispatched ON outbox_events (dispatched_at, id);
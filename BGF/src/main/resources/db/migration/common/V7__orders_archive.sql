@@ -0,0 +1,24 @@
+-- Finished orders moved out of the hot table by OrderArchiver: same columns
+-- plus archived_at. created_at is part of the key and there are no foreign
+-- keys because MySQL partitions this table by year (mysql/V8).
+CREATE TABLE orders_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    price FLOAT(53) NOT NULL,
+    total_amount FLOAT(53) NOT NULL,
+    shipping_address VARCHAR(255),
+    payment_method VARCHAR(255),
+    notes VARCHAR(255),
+    status VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+);
+
+-- ArchivedOrderRepository: a user's history back to a date
+CREATE INDEX idx_orders_archive_user_created ON orders_archive (user_id, created_at);
+
+-- OrderArchiver: finished orders by age
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
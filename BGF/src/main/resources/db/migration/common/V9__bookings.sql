@@ -0,0 +1,25 @@
+-- Time-slot bookings of services. provider_id is copied from the service so
+-- a provider's calendar loads without a join (see BookingCalendars).
+CREATE TABLE bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    service_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    start_time DATETIME(6) NOT NULL,
+    end_time DATETIME(6) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_service FOREIGN KEY (service_id) REFERENCES services (id),
+    CONSTRAINT fk_bookings_provider FOREIGN KEY (provider_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_customer FOREIGN KEY (customer_id) REFERENCES users (id)
+);
+
+-- BookingRepository.findSlotsByProviderIdAndStatusAndEndTimeAfter: one provider's calendar
+CREATE INDEX idx_bookings_provider_end ON bookings (provider_id, end_time);
+
+-- BookingRepository.findSlotsByStatusAndEndTimeAfter: every calendar, at startup
+CREATE INDEX idx_bookings_end ON bookings (end_time);
+
+-- BookingRepository.findByCustomerOrderByStartTimeDesc: a customer's bookings
+CREATE INDEX idx_bookings_customer_start ON bookings (customer_id, start_time);
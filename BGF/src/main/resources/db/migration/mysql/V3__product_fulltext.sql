@@ -0,0 +1,3 @@
+-- Product search: LIKE '%term%' can't use a B-tree index, MATCH ... AGAINST can.
+-- Used by ProductRepository.searchFullText when bgf.products.full-text-search=true.
+CREATE FULLTEXT INDEX ft_products_name_description ON products (name, description);
@@ -0,0 +1,7 @@
+-- One partition per year of order history: date-bounded history reads only
+-- open the years they ask for, and an expired year is dropped in one
+-- statement. OrderArchiver splits p_future as years pass.
+ALTER TABLE orders_archive PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p_old VALUES LESS THAN ('2024-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
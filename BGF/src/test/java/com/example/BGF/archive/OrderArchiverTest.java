@@ -0,0 +1,100 @@
+package com.example.BGF.archive;
+
+import com.example.BGF.models.BaseOrder;
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.ArchivedOrderRepository;
+import com.example.BGF.repository.OrderRepository;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Only old finished orders move, in several batches; reads still find them
+// by id and in a user's history, and they can no longer change
+@SpringBootTest(properties = {"bgf.orders.archive.enabled=false", "bgf.orders.archive.batch-size=2",
+        "bgf.orders.archive.after=30d"})
+class OrderArchiverTest {
+
+    @Autowired
+    private OrderArchiver archiver;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void movesOldFinishedOrdersOnly() {
+        User user = new User();
+        user.setUsername("archive-user");
+        user.setPassword("x");
+        user = userRepository.save(user);
+        Product product = new Product();
+        product.setName("Archive ball");
+        product.setPrice(5.0);
+        product.setStock(10);
+        product = productRepository.save(product);
+
+        LocalDateTime old = LocalDateTime.now().minusDays(400);
+        Order delivered = order(user, product, "DELIVERED", old);
+        order(user, product, "DELIVERED", old.plusDays(1));
+        order(user, product, "CANCELLED", old.plusDays(2));
+        order(user, product, "CANCELLED", old.plusDays(3));
+        order(user, product, "DELIVERED", old.plusDays(4));
+        Order stuck = order(user, product, "PENDING", old);
+        Order recent = order(user, product, "DELIVERED", LocalDateTime.now().minusDays(1));
+
+        assertEquals(5, archiver.archive());
+        assertEquals(0, archiver.archive());
+
+        List<Long> live = orderRepository.findByUser(user).stream().map(Order::getId).toList();
+        assertEquals(List.of(stuck.getId(), recent.getId()), live);
+        assertEquals(5, archivedOrderRepository.count());
+
+        BaseOrder found = orderService.getOrderById(delivered.getId()).orElseThrow();
+        assertEquals("DELIVERED", found.getStatus());
+        assertEquals("Archive ball", found.getProduct().getName());
+
+        assertEquals(2, orderService.getOrderHistory(user, LocalDateTime.now().minusDays(30)).size());
+        List<BaseOrder> history = orderService.getOrderHistory(user, old.minusDays(1));
+        assertEquals(7, history.size());
+        assertTrue(history.get(2).getCreatedAt().isAfter(history.get(6).getCreatedAt()), "archived part is newest first");
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> orderService.updateOrderStatus(delivered.getId(), "PENDING"));
+        assertEquals("Order is archived and can no longer change", error.getMessage());
+    }
+
+    private Order order(User user, Product product, String status, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setProduct(product);
+        order.setQuantity(1);
+        order.setPrice(5.0);
+        order.setTotalAmount(5.0);
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        return orderRepository.save(order);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.BGF.booking;
+
+import com.example.BGF.models.AppService;
+import com.example.BGF.models.Booking;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.BookingRepository;
+import com.example.BGF.repository.ServiceRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingServiceTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User provider;
+    private AppService service;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void seed() {
+        provider = user("provider");
+        service = new AppService();
+        service.setName("Coaching");
+        service.setUser(provider);
+        service = serviceRepository.save(service);
+        day = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @Test
+    void overlappingHoldsConflictAndAdjacentOnesDoNot() {
+        User customer = user("customer");
+        bookingService.book(service.getId(), customer, at(10), at(11));
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.book(service.getId(), customer, at(10).plusMinutes(30), at(12)));
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.book(service.getId(), customer, at(9), at(10).plusMinutes(1)));
+        bookingService.book(service.getId(), customer, at(11), at(12));
+        bookingService.book(service.getId(), customer, at(9), at(10));
+
+        assertEquals(List.of(new TimeWindow(at(8), at(9)), new TimeWindow(at(12), at(13))),
+                bookingService.findFreeSlots(service.getId(), at(8), at(13), 60));
+        assertEquals(List.of(new TimeWindow(at(12), at(13))),
+                bookingService.findFreeSlots(service.getId(), at(8).plusMinutes(30), at(13), 60));
+    }
+
+    @Test
+    void cancellingFreesTheSlot() {
+        User customer = user("canceller");
+        Booking booking = bookingService.book(service.getId(), customer, at(14), at(15));
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.book(service.getId(), customer, at(14), at(15)));
+
+        bookingService.cancel(booking.getId(), customer);
+
+        assertEquals(Booking.CANCELLED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        bookingService.book(service.getId(), customer, at(14), at(15));
+        assertThrows(IllegalStateException.class, () -> bookingService.cancel(booking.getId(), customer));
+    }
+
+    @Test
+    void unavailableProvidersTakeNoBookings() {
+        provider.setAvailable(false);
+        userRepository.save(provider);
+        User customer = user("hopeful");
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.book(service.getId(), customer, at(10), at(11)));
+        assertTrue(bookingService.findFreeSlots(service.getId(), at(8), at(18), 30).isEmpty());
+    }
+
+    @Test
+    void concurrentHoldsOnOneSlotAdmitExactlyOne() throws Exception {
+        int threads = 8;
+        List<User> customers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            customers.add(user("racer" + i));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (User customer : customers) {
+                Callable<Boolean> hold = () -> {
+                    start.await();
+                    try {
+                        bookingService.book(service.getId(), customer, at(16), at(17));
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                };
+                results.add(pool.submit(hold));
+            }
+            start.countDown();
+            int won = 0;
+            for (Future<Boolean> result : results) {
+                won += result.get() ? 1 : 0;
+            }
+            assertEquals(1, won);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void calendarsRebuildFromTheTable() {
+        User customer = user("rebuilt");
+        bookingService.book(service.getId(), customer, at(10), at(11));
+        Booking cancelled = bookingService.book(service.getId(), customer, at(12), at(13));
+        bookingService.cancel(cancelled.getId(), customer);
+
+        BookingCalendars fresh = new BookingCalendars(bookingRepository, new SimpleMeterRegistry(), 4);
+        fresh.rebuild();
+
+        ProviderCalendar calendar = fresh.get(provider.getId());
+        assertEquals(1, calendar.size());
+        assertTrue(!calendar.isFree(at(10).plusMinutes(59), at(11)));
+        assertTrue(calendar.isFree(at(12), at(13)));
+    }
+
+    private LocalDateTime at(int hour) {
+        return day.withHour(hour);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name + "-" + System.nanoTime());
+        user.setPassword("x");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.BGF.cache;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Repeated reads are served from the product regions, and updates and
+// deletes through Hibernate are visible to the very next read.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void entityReadsAreCachedAndFollowUpdatesAndDeletes() {
+        Long id = productRepository.save(product("Cached bat", "cache-cricket")).getId();
+        productRepository.findById(id);
+        CacheRegionStatistics region = statistics().getDomainDataRegionStatistics("product");
+        long hits = region.getHitCount();
+        assertEquals("Cached bat", productRepository.findById(id).orElseThrow().getName());
+        assertEquals(hits + 1, region.getHitCount());
+        assertTrue(meterRegistry.get("bgf.cache.hit.ratio").tag("region", "product").gauge().value() > 0);
+
+        Product update = new Product();
+        update.setPrice(99.0);
+        productService.updateProduct(id, update, null);
+        assertEquals(99.0, productRepository.findById(id).orElseThrow().getPrice());
+
+        productService.deleteProduct(id);
+        assertTrue(productRepository.findById(id).isEmpty());
+    }
+
+    @Test
+    void finderResultsAreCachedUntilTheTableChanges() {
+        productRepository.save(product("Cached net", "cache-tennis"));
+        assertEquals(1, byCategory().size());
+        CacheRegionStatistics queries = statistics().getQueryRegionStatistics("product-queries");
+        long hits = queries.getHitCount();
+        assertEquals(1, byCategory().size());
+        assertEquals(hits + 1, queries.getHitCount());
+
+        Long added = productRepository.save(product("Cached racket", "cache-tennis")).getId();
+        assertEquals(2, byCategory().size());
+
+        productService.deleteProduct(added);
+        assertEquals(1, byCategory().size());
+    }
+
+    private List<Product> byCategory() {
+        return productRepository.findByCategoryContainingIgnoreCase("cache-tennis");
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Product product(String name, String category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory(category);
+        product.setPrice(10.0);
+        product.setStock(5);
+        return product;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.BGF.cart;
+
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.CartService;
+import com.example.BGF.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"bgf.outbox.poll-interval=200ms", "bgf.cart.flush-interval=1h"})
+class CartServiceTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product ball;
+    private Product bat;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setUsername("cart-user-" + System.nanoTime());
+        user.setPassword("x");
+        user = userRepository.save(user);
+        ball = productService.addProduct(product("Cart ball", 10.0, 20), null);
+        bat = productService.addProduct(product("Cart bat", 100.0, 1), null);
+    }
+
+    @Test
+    void priceChangeMarksTheCartAndBlocksCheckoutUntilSeen() {
+        cartService.setQuantity(user, ball.getId(), 2);
+        CartView view = cartService.setQuantity(user, bat.getId(), 1);
+        assertTrue(view.ready());
+        assertEquals(120.0, view.totalPrice());
+        assertEquals(view, cartService.getCart(user), "served from the cart until something changes");
+
+        Product update = new Product();
+        update.setPrice(12.0);
+        productService.updateProduct(ball.getId(), update, null);
+        await(() -> cartStore.withCart(user.getId(), Cart::validated) == null);
+
+        CartService.CartChangedException changed = assertThrows(CartService.CartChangedException.class,
+                () -> cartService.checkout(user, "No. 1, Main Street", "CASH", null));
+        CartView.Item item = changed.getCart().items().get(0);
+        assertEquals(CartView.PRICE_CHANGED, item.problem());
+        assertEquals(10.0, item.previousPrice());
+        assertEquals(12.0, item.unitPrice());
+
+        assertTrue(cartService.getCart(user).ready(), "the new price has been shown");
+        List<Order> orders = cartService.checkout(user, "No. 1, Main Street", "CASH", null);
+        assertEquals(2, orders.size());
+        assertEquals(24.0, orders.get(0).getTotalAmount());
+        assertTrue(cartService.getCart(user).items().isEmpty());
+    }
+
+    @Test
+    void checkoutComparesPricesUnderTheRowLock() {
+        CartView view = cartService.setQuantity(user, ball.getId(), 2);
+        assertTrue(view.ready());
+        // Behind the cache's back, as a concurrent writer between the check and the lock would be
+        jdbcTemplate.update("UPDATE products SET price = 11.0 WHERE id = ?", ball.getId());
+
+        assertThrows(CartService.CartChangedException.class,
+                () -> cartService.checkout(user, "No. 1, Main Street", "CASH", null));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class,
+                user.getId()));
+    }
+
+    @Test
+    void concurrentCheckoutsOfOneCartPlaceItOnce() throws Exception {
+        int clicks = 8;
+        for (int round = 0; round < 5; round++) {
+            cartService.setQuantity(user, ball.getId(), 1);
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(clicks);
+            try {
+                List<Future<List<Order>>> results = new ArrayList<>();
+                for (int i = 0; i < clicks; i++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return cartService.checkout(user, "No. 1, Main Street", "CASH", null);
+                    }));
+                }
+                start.countDown();
+                int placed = 0;
+                for (Future<List<Order>> result : results) {
+                    try {
+                        placed += result.get().size();
+                    } catch (ExecutionException e) {
+                        // Already running, or already emptied
+                        assertTrue(e.getCause() instanceof CartService.CartChangedException
+                                || e.getCause() instanceof IllegalArgumentException, e.getCause().toString());
+                    }
+                }
+                assertEquals(1, placed, "round " + round);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class,
+                user.getId()));
+        assertEquals(15, jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class,
+                ball.getId()));
+    }
+
+    @Test
+    void stockShortfallAndDeletedProductsShowInTheCart() {
+        cartService.setQuantity(user, bat.getId(), 2);
+        cartService.setQuantity(user, ball.getId(), 1);
+        CartView view = cartService.getCart(user);
+        assertFalse(view.ready());
+        assertEquals(CartView.INSUFFICIENT_STOCK, view.items().get(0).problem());
+        assertEquals(1, view.items().get(0).stock());
+
+        productService.deleteProduct(ball.getId());
+        await(() -> cartStore.withCart(user.getId(), Cart::validated) == null);
+        view = cartService.getCart(user);
+        assertEquals(CartView.UNAVAILABLE, view.items().get(1).problem());
+        assertEquals(1, cartService.getCart(user).items().size(), "dropped once reported");
+    }
+
+    @Test
+    void changesAreWrittenBehindInBatches() {
+        cartService.setQuantity(user, ball.getId(), 3);
+        cartService.setQuantity(user, bat.getId(), 1);
+        assertEquals(0, rows());
+
+        cartStore.flush();
+        assertEquals(2, rows());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT quantity FROM cart_items WHERE user_id = ? AND product_id = ?", Integer.class,
+                user.getId(), ball.getId()));
+
+        cartService.removeItem(user, bat.getId());
+        cartStore.flush();
+        assertEquals(1, rows());
+        assertNull(cartStore.withCart(user.getId(), cart -> cart.line(bat.getId())));
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items WHERE user_id = ?", Integer.class,
+                user.getId());
+    }
+
+    private static Product product(String name, double price, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setStock(stock);
+        return product;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 10s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.BGF.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two embedded H2 databases stand in for primary and replica; each has a
+// marker row saying which one it is, so the test can see where a query went.
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary", "primary");
+        replica = database("routing_replica", "replica");
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(30));
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), tracker,
+                Duration.ofSeconds(5), "SELECT seconds FROM replica_lag");
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        login("alice");
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET touched = TRUE"));
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        login("bob");
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        routing.checkReplicaLag();
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+        assertEquals(30.0, routing.getLagSeconds("replica-0"));
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+        routing.checkReplicaLag();
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void closesItsPoolsOnShutdown() {
+        HikariDataSource primaryPool = pool("routing_pool_primary");
+        HikariDataSource replicaPool = pool("routing_pool_replica");
+        ReplicaRoutingDataSource pooled = new ReplicaRoutingDataSource(primaryPool, List.of(replicaPool), tracker,
+                Duration.ofSeconds(5), "SELECT 0");
+        pooled.afterPropertiesSet();
+        new JdbcTemplate(replicaPool).queryForObject("SELECT 1", Integer.class);
+
+        pooled.destroy();
+        assertTrue(primaryPool.isClosed());
+        assertTrue(replicaPool.isClosed());
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name);
+        pool.setUsername("sa");
+        return pool;
+    }
+
+    private static DataSource database(String name, String marker) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16), touched BOOLEAN DEFAULT FALSE)");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", marker);
+        jdbc.execute("CREATE TABLE replica_lag (seconds INT)");
+        jdbc.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.BGF.events;
+
+import com.example.BGF.models.User;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// Replay on reconnect over a real SSE connection; one buffered user, so a
+// second user's event drops the first one's buffer
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"bgf.warmup.enabled=false", "bgf.orders.stream.buffered-users=1"})
+class OrderEventStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderEventStream orderEventStream;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private String lastId;
+
+    @Test
+    void replaysWhatWasMissedAndResyncsOnceTheBufferIsGone() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            User shopper = user();
+            User other = user();
+
+            String seen;
+            try (Stream<String> live = connect(shopper, null)) {
+                Iterator<String> lines = live.iterator();
+                assertEquals(List.of("ready"), events(lines, 1));
+                publish(shopper, 1L);
+                assertEquals(List.of("order"), events(lines, 1));
+                seen = lastId;
+            }
+            publish(shopper, 2L);
+
+            try (Stream<String> again = connect(shopper, seen)) {
+                Iterator<String> lines = again.iterator();
+                assertEquals(List.of("ready", "order"), events(lines, 2), "the missed order");
+            }
+
+            publish(other, 3L);
+            try (Stream<String> again = connect(shopper, seen)) {
+                Iterator<String> lines = again.iterator();
+                assertEquals(List.of("ready", "resync"), events(lines, 2), "buffer dropped for the other user");
+            }
+        });
+    }
+
+    // Names of the next n events; remembers the last id seen
+    private List<String> events(Iterator<String> lines, int n) {
+        List<String> names = new ArrayList<>();
+        while (names.size() < n) {
+            String line = lines.next();
+            if (line.startsWith("id:")) {
+                lastId = line.substring(3).trim();
+            } else if (line.startsWith("event:")) {
+                names.add(line.substring(6).trim());
+            }
+        }
+        return names;
+    }
+
+    private Stream<String> connect(User user, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/stream"))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(user.getUsername(), "USER"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = http.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private void publish(User user, Long orderId) {
+        orderEventStream.onEvents(List.of(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, orderId, user.getId(),
+                "SHIPPED", 10.0, Instant.now())));
+    }
+
+    private User user() {
+        User user = new User();
+        user.setUsername("stream-user-" + System.nanoTime());
+        user.setPassword("x");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+}
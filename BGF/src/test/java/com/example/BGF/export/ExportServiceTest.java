@@ -0,0 +1,146 @@
+package com.example.BGF.export;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.ExportService;
+import com.example.BGF.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ExportServiceTest {
+
+    // Older than anything other tests create
+    private static final LocalDate DAY = LocalDate.of(2001, 2, 3);
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsReviewsInKeysetOrderAndResumesAfterAnyRow() throws IOException {
+        seedReviews();
+        String csv = export("reviews", List.of("rating", "comment"), "csv", null);
+        String[] lines = csv.split("\r\n");
+        assertEquals("created_at,id,rating,comment", lines[0]);
+        assertEquals(5, lines.length);
+        assertEquals("\"Good, \"\"really\"\"\"", lines[1].substring(lines[1].lastIndexOf(",\"") + 1));
+
+        // Resume after the second row: its first two fields are the cursor
+        String[] second = lines[2].split(",");
+        String rest = export("reviews", List.of("rating", "comment"), "csv", second[0] + "," + second[1]);
+        assertEquals(List.of(lines[0], lines[3], lines[4]), List.of(rest.split("\r\n")));
+    }
+
+    @Test
+    void csvTextCannotStartAFormula() throws IOException {
+        jdbcTemplate.update("DELETE FROM reviews WHERE created_at < ?", Timestamp.valueOf(DAY.plusDays(2).atStartOfDay()));
+        User user = new User();
+        user.setUsername("formula-user-" + System.nanoTime());
+        user.setPassword("x");
+        user = userRepository.save(user);
+        Product product = new Product();
+        product.setName("Formula bat");
+        product.setPrice(10.0);
+        product = productService.addProduct(product, null);
+        String[] comments = {"=HYPERLINK(\"http://x\",\"y\")", "+1", "-2", "@SUM(A1)", "\tTab", "Plain - fine"};
+        for (int i = 0; i < comments.length; i++) {
+            review(user, product, -1, comments[i], DAY.atTime(10, i));
+        }
+
+        String[] lines = export("reviews", List.of("rating", "comment"), "csv", null).split("\r\n");
+        List<String> fields = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split(",", 3);
+            fields.add(parts[2]);
+        }
+        assertEquals(List.of("-1,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"", "-1,'+1", "-1,'-2", "-1,'@SUM(A1)",
+                "-1,'\tTab", "-1,Plain - fine"), fields, "numbers stay numbers");
+    }
+
+    @Test
+    void ndjsonHasTheRequestedColumnsAfterTheKey() throws IOException {
+        seedReviews();
+        String ndjson = export("reviews", List.of("rating"), "ndjson", null);
+        String[] lines = ndjson.split("\n");
+        assertEquals(4, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(List.of("created_at", "id", "rating"), fieldNames(first));
+        assertEquals(DAY.atTime(9, 0).toString(), first.get("created_at").asText());
+        assertEquals(5, first.get("rating").asInt());
+    }
+
+    @Test
+    void rejectsUnknownColumnsAndDatasets() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.prepare("reviews", DAY, DAY, List.of("password"), "csv", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.prepare("users", DAY, DAY, null, "csv", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.prepare("orders", DAY, DAY, null, "csv", "yesterday", null));
+    }
+
+    private String export(String dataset, List<String> columns, String format, String after) throws IOException {
+        ExportRequest request = exportService.prepare(dataset, DAY, DAY, columns, format, after, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(request, () -> out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void seedReviews() {
+        jdbcTemplate.update("DELETE FROM reviews WHERE created_at < ?", Timestamp.valueOf(DAY.plusDays(2).atStartOfDay()));
+        User user = new User();
+        user.setUsername("export-user-" + System.nanoTime());
+        user.setPassword("x");
+        user = userRepository.save(user);
+        Product product = new Product();
+        product.setName("Export bat");
+        product.setPrice(10.0);
+        product = productService.addProduct(product, null);
+        // Two reviews share a timestamp, so the id breaks the tie
+        review(user, product, 5, "Good, \"really\"", DAY.atTime(9, 0));
+        review(user, product, 4, "Fine", DAY.atTime(12, 30));
+        review(user, product, 3, "Meh", DAY.atTime(12, 30));
+        review(user, product, 2, "Line\nbreak", DAY.atTime(23, 59, 59));
+        review(user, product, 1, "Next day", DAY.plusDays(1).atStartOfDay());
+    }
+
+    private void review(User user, Product product, int rating, String comment, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO reviews (rating, comment, created_at, user_id, product_id) VALUES (?, ?, ?, ?, ?)",
+                rating, comment, Timestamp.valueOf(createdAt), user.getId(), product.getId());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.BGF.images;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Upload, background thumbnails and serving over a real connection
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"bgf.warmup.enabled=false", "bgf.images.thumbnail-widths=160,320"})
+class ImageStoreTest {
+
+    private static Path dir;
+
+    @DynamicPropertySource
+    static void imageDir(DynamicPropertyRegistry registry) throws IOException {
+        dir = Files.createTempDirectory("bgf-images-test");
+        registry.add("bgf.images.dir", dir::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ProductService productService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void storesByContentAndServesThumbnailsWithStrongEtags() throws Exception {
+        Product product = new Product();
+        product.setName("Image bat");
+        product.setPrice(10.0);
+        product = productService.addProduct(product, null);
+
+        byte[] png = png(800, 400);
+        String url = productService.updateImage(product.getId(), png).getImageUrl();
+        String name = url.substring("/images/".length());
+        assertTrue(url.matches("/images/[0-9a-f]{64}\\.png"), url);
+        assertEquals(name, imageStore.store(png), "same bytes, same name");
+
+        awaitSettled(name, 300);
+        imageStore.store(png);
+        assertTrue(imageStore.find(name, 300).settled(), "thumbnails there, nothing queued again");
+
+        HttpResponse<byte[]> thumbnail = get(url + "?w=300", null);
+        assertEquals(200, thumbnail.statusCode());
+        assertEquals("image/png", thumbnail.headers().firstValue("Content-Type").orElseThrow());
+        assertTrue(thumbnail.headers().firstValue("Cache-Control").orElseThrow().contains("immutable"));
+        String etag = thumbnail.headers().firstValue("ETag").orElseThrow();
+        assertEquals("\"" + name.substring(0, 64) + "-320\"", etag);
+        assertEquals(320, ImageIO.read(new ByteArrayInputStream(thumbnail.body())).getWidth());
+
+        assertEquals(304, get(url + "?w=300", etag).statusCode());
+        assertArrayEquals(png, get(url, null).body(), "no width: the original");
+        assertArrayEquals(png, get(url + "?w=1000", null).body(), "wider than any thumbnail");
+        assertEquals(404, get("/images/" + "0".repeat(64) + ".png", null).statusCode());
+        assertEquals(404, get("/images/..png", null).statusCode());
+    }
+
+    @Test
+    void remakesMissingThumbnailsWhenAskedFor() throws Exception {
+        String name = imageStore.store(png(500, 500));
+        awaitSettled(name, 300);
+        Path thumbnail = imageStore.find(name, 150).path();
+        assertTrue(thumbnail.getFileName().toString().endsWith("-160.png"), thumbnail.toString());
+
+        Files.delete(thumbnail);
+        assertFalse(imageStore.find(name, 150).settled(), "the 320 stands in until it is made again");
+        awaitSettled(name, 150);
+        assertTrue(Files.exists(thumbnail));
+
+        String small = imageStore.store(png(100, 50));
+        assertTrue(imageStore.find(small, 150).settled(), "too small for any thumbnail");
+    }
+
+    @Test
+    void rejectsWhatIsNotAnImage() {
+        assertThrows(IllegalArgumentException.class, () -> imageStore.store("not an image".getBytes()));
+    }
+
+    private void awaitSettled(String name, int width) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!imageStore.find(name, width).settled()) {
+            assertTrue(System.currentTimeMillis() < deadline, "thumbnails not made within 10s");
+            Thread.sleep(20);
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillOval(0, 0, width, height);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.BGF.inventory;
+
+import com.example.BGF.events.InventoryEvent;
+import com.example.BGF.models.InventoryMovement;
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.outbox.OutboxEntry;
+import com.example.BGF.repository.OrderRepository;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.OrderService;
+import com.example.BGF.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Orders take stock, cancelling gives it back and re-opening takes it again;
+// every change lands in inventory_movements once the outbox delivers it,
+// and only once however often it is delivered.
+@SpringBootTest(properties = "bgf.warmup.enabled=false")
+class InventoryServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryLogWriter inventoryLogWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ordersReserveAndCancellationsReleaseStock() {
+        User user = new User();
+        user.setUsername("inventory-user-" + System.nanoTime());
+        user.setPassword("x");
+        user = userRepository.save(user);
+        Product product = new Product();
+        product.setName("Inventory bat");
+        product.setPrice(10.0);
+        product.setStock(3);
+        Long productId = productService.addProduct(product, null).getId();
+        Long userId = user.getId();
+
+        Order order = orderService.createOrder(userId, productId, 2, "Colombo", "CARD", "");
+        assertEquals(1, stock(productId));
+
+        long orders = orderRepository.count();
+        assertThrows(IllegalStateException.class,
+                () -> orderService.createOrder(userId, productId, 2, "Colombo", "CARD", ""));
+        assertEquals(orders, orderRepository.count(), "the refused order is rolled back");
+        assertEquals(1, stock(productId));
+
+        orderService.cancelOrder(order.getId());
+        assertEquals(3, stock(productId));
+        orderService.updateOrderStatus(order.getId(), "PENDING");
+        assertEquals(1, stock(productId));
+
+        await(() -> movements(productId).size() == 4);
+        assertEquals(List.of("RESTOCK +3 -> 3", "RESERVATION -2 -> 1", "CANCELLATION +2 -> 3", "RESERVATION -2 -> 1"),
+                movements(productId));
+    }
+
+    @Test
+    void redeliveredMovementsAreWrittenOnce() {
+        long productId = 900_001L;
+        List<OutboxEntry> first = List.of(entry(-101, productId, 5), entry(-102, productId, 4));
+        inventoryLogWriter.onEntries(first);
+        // Again, overlapping: as after a failed dispatch or a replay
+        inventoryLogWriter.onEntries(List.of(first.get(1), entry(-103, productId, 3)));
+
+        assertEquals(List.of("RESERVATION -1 -> 5", "RESERVATION -1 -> 4", "RESERVATION -1 -> 3"),
+                movements(productId));
+    }
+
+    private static OutboxEntry entry(long outboxId, long productId, int stockAfter) {
+        InventoryMovement movement = new InventoryMovement(productId, InventoryMovement.RESERVATION, -1, stockAfter,
+                null, null);
+        return new OutboxEntry(outboxId, new InventoryEvent(productId, "Logged bat", stockAfter, 5, movement));
+    }
+
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    private List<String> movements(Long productId) {
+        return jdbcTemplate.query("SELECT type, quantity_change, stock_after FROM inventory_movements " +
+                        "WHERE product_id = ? ORDER BY id", (rs, i) -> String.format("%s %+d -> %d",
+                        rs.getString(1), rs.getInt(2), rs.getInt(3)), productId);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 10s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.BGF.monitoring;
+
+import com.example.BGF.models.Order;
+import com.example.BGF.models.Product;
+import com.example.BGF.models.Review;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.OrderRepository;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.ReviewRepository;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Calls the list endpoints over a data set with many distinct users and
+// admins; an N+1 on any eager relation pushes them over their @SqlBudget,
+// which fails the request in this test.
+@SpringBootTest(properties = "bgf.sql.budget.fail-on-violation=true")
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Long productId;
+    private Long userId;
+    private Long orderId;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        reviewRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            User user = new User();
+            user.setUsername("budget" + i);
+            user.setPassword("x");
+            user.setEmail("budget" + i + "@test.local");
+            user.setRole(i == 0 ? "ADMIN" : "USER");
+            users.add(userRepository.save(user));
+        }
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Product product = new Product();
+            product.setName("Budget product " + i);
+            product.setCategory("gym");
+            product.setPrice(10.0 + i);
+            product.setStock(5);
+            product.setAdmin(users.get(i));
+            products.add(productRepository.save(product));
+        }
+        for (int i = 0; i < 16; i++) {
+            Review review = new Review();
+            review.setRating(1 + i % 5);
+            review.setUser(users.get(i % users.size()));
+            review.setProduct(products.get(i % 2));
+            reviewRepository.save(review);
+
+            Order order = new Order();
+            order.setUser(users.get(1));
+            order.setProduct(products.get(i % products.size()));
+            order.setQuantity(1);
+            orderRepository.save(order);
+            orderId = order.getId();
+        }
+        productId = products.get(0).getId();
+        userId = users.get(1).getId();
+        token = jwtUtil.generateToken("budget1", "USER");
+    }
+
+    @Test
+    void catalogEndpointsStayWithinBudget() throws Exception {
+        expectWithinBudget(get("/products/all"));
+        expectWithinBudget(get("/products/" + productId));
+        expectWithinBudget(get("/products/search").param("name", "budget"));
+        expectWithinBudget(get("/products/filter").param("category", "gym"));
+        expectWithinBudget(get("/products/all").header("Authorization", "Bearer " + token));
+        // Its parts run on the product page pool and still count
+        expectWithinBudget(get("/products/" + productId + "/page"));
+    }
+
+    @Test
+    void reviewEndpointsStayWithinBudget() throws Exception {
+        expectWithinBudget(get("/review"));
+        expectWithinBudget(get("/review/product/" + productId));
+        expectWithinBudget(get("/review/user/" + userId));
+        expectWithinBudget(get("/review/product/" + productId + "/average"));
+    }
+
+    @Test
+    void orderEndpointsStayWithinBudget() throws Exception {
+        expectWithinBudget(get("/api/orders").header("Authorization", "Bearer " + token));
+        expectWithinBudget(get("/api/orders/user/" + userId));
+        expectWithinBudget(get("/api/orders/" + orderId));
+    }
+
+    private void expectWithinBudget(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlBudgetFilter.COUNT_HEADER))
+                .andExpect(header().string(SqlBudgetFilter.REPEATED_HEADER, "0"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.BGF.outbox;
+
+import com.example.BGF.events.DomainEvent;
+import com.example.BGF.events.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Publishes events through the real recorder and dispatcher and watches a
+// recording subscriber: delivery happens only for committed transactions,
+// rows whose hand-off was lost are replayed, failing batches are retried
+// and recorded as dead letters once out of attempts. The ring is tiny, so
+// publishers regularly find it full.
+@SpringBootTest(properties = {"bgf.outbox.redeliver-after=0s", "bgf.outbox.poll-interval=200ms",
+        "bgf.outbox.retry-backoff=10ms", "bgf.outbox.ring-size=4"})
+@Import(OutboxTest.Config.class)
+class OutboxTest {
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Test
+    void deliversCommittedEventsOnly() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> events.publishEvent(changed(9001L)));
+        tx.executeWithoutResult(status -> {
+            events.publishEvent(changed(9002L));
+            status.setRollbackOnly();
+        });
+
+        await(() -> subscriber.received(9001L));
+        await(() -> dispatched(9001L));
+        assertFalse(subscriber.received(9002L));
+        assertEquals(0, rows(9002L));
+    }
+
+    @Test
+    void replaysRowsWhoseHandOffWasLost() {
+        jdbcTemplate.update("INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) " +
+                        "VALUES ('product', 9003, ?, ?, ?)", ProductChangedEvent.class.getName(),
+                "{\"type\":\"DELETED\",\"productId\":9003}", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+
+        await(() -> subscriber.received(9003L));
+        await(() -> dispatched(9003L));
+    }
+
+    @Test
+    void retriesFailingBatches() {
+        subscriber.failuresLeft.set(2);
+        events.publishEvent(changed(9004L));
+
+        await(() -> subscriber.received(9004L));
+        assertEquals(0, subscriber.failuresLeft.get());
+    }
+
+    @Test
+    void recordsDeadLettersAndKeepsTheirRows() {
+        subscriber.failuresLeft.set(4); // every attempt
+        events.publishEvent(changed(9005L));
+
+        await(() -> dispatched(9005L));
+        assertFalse(subscriber.received(9005L));
+        assertEquals(List.of("RecordingSubscriber"), jdbcTemplate.queryForList("SELECT d.subscriber " +
+                "FROM outbox_dead_letters d JOIN outbox_events e ON e.id = d.event_id WHERE e.aggregate_id = 9005",
+                String.class));
+    }
+
+    @Test
+    void keepsOrderWhenTheRingIsFull() {
+        for (int i = 0; i < 50; i++) {
+            events.publishEvent(changed(9006L));
+        }
+
+        await(() -> subscriber.outboxIds(9006L).size() >= 50);
+        List<Long> ids = subscriber.outboxIds(9006L);
+        assertEquals(50, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    private static ProductChangedEvent changed(Long productId) {
+        return new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, productId);
+    }
+
+    private int rows(Long aggregateId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ?",
+                Integer.class, aggregateId);
+    }
+
+    private boolean dispatched(Long aggregateId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? " +
+                "AND dispatched_at IS NOT NULL", Integer.class, aggregateId) > 0;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 10s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements DomainEventSubscriber {
+        final List<long[]> received = new CopyOnWriteArrayList<>(); // outbox id, product id
+        final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public Set<Class<? extends DomainEvent>> eventTypes() {
+            return Set.of(ProductChangedEvent.class);
+        }
+
+        @Override
+        public void onEntries(List<OutboxEntry> entries) {
+            if (failuresLeft.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("simulated failure");
+            }
+            entries.forEach(entry -> received.add(new long[]{entry.id(), entry.event().aggregateId()}));
+        }
+
+        boolean received(Long productId) {
+            return !outboxIds(productId).isEmpty();
+        }
+
+        List<Long> outboxIds(Long productId) {
+            return received.stream().filter(r -> r[1] == productId).map(r -> r[0]).toList();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.BGF.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives the limiter with a fake clock: shares per class, shrinking when
+// latency rises, growing back when it recovers, and no growth while idle
+class ConcurrencyLimiterTest {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void lowerClassesAreRefusedFirst() {
+        ConcurrencyLimiter limiter = limiter(10);
+        double catalog = 0.7;
+        for (int i = 0; i < 7; i++) {
+            assertTrue(limiter.tryAcquire(catalog));
+        }
+        assertFalse(limiter.tryAcquire(catalog), "catalog is capped at 70% of the limit");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(1.0), "checkout keeps the remaining room");
+        }
+        assertFalse(limiter.tryAcquire(1.0));
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire(1.0));
+    }
+
+    @Test
+    void limitFollowsLatency() {
+        ConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 20; i++) {
+            window(limiter, 20, 10);
+        }
+        int warmed = limiter.getLimit();
+        assertTrue(warmed > 20, "fast and busy: grows, was " + warmed);
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter, warmed, 60);
+        }
+        int slowed = limiter.getLimit();
+        assertTrue(slowed < warmed * 3 / 4, "six times slower: shrinks, " + warmed + " -> " + slowed);
+
+        for (int i = 0; i < 40; i++) {
+            window(limiter, limiter.getLimit(), 10);
+        }
+        assertTrue(limiter.getLimit() > slowed, "recovered: grows again, was " + limiter.getLimit());
+    }
+
+    @Test
+    void idleServerDoesNotRaiseTheLimit() {
+        ConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 20; i++) {
+            window(limiter, 2, 10);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void failuresBackOff() {
+        ConcurrencyLimiter limiter = limiter(20);
+        assertTrue(limiter.tryAcquire(1.0));
+        clock.addAndGet(WINDOW);
+        limiter.release(0, true);
+        assertTrue(limiter.getLimit() < 20);
+    }
+
+    private ConcurrencyLimiter limiter(int initial) {
+        OverloadProperties properties = new OverloadProperties();
+        properties.setInitialLimit(initial);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(1000);
+        properties.setWindow(Duration.ofNanos(WINDOW));
+        return new ConcurrencyLimiter(properties, clock::get);
+    }
+
+    // One window with 'concurrent' requests in flight at once, each taking 'millis'
+    private void window(ConcurrencyLimiter limiter, int concurrent, long millis) {
+        int admitted = 0;
+        for (int i = 0; i < Math.max(concurrent, 10); i++) {
+            if (admitted < concurrent && limiter.tryAcquire(1.0)) {
+                admitted++;
+            }
+        }
+        clock.addAndGet(WINDOW);
+        long latency = TimeUnit.MILLISECONDS.toNanos(millis);
+        for (int i = 0; i < Math.max(admitted, 10); i++) {
+            if (i < admitted) {
+                limiter.release(latency, false);
+            } else {
+                limiter.tryAcquire(1.0);
+                limiter.release(latency, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.BGF.repository;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs every derived query method in the repository package against the
+// migrated schema, then EXPLAINs the SQL it issued. A table scan on a hot
+// query means a missing index in db/migration.
+@SpringBootTest
+class QueryPlanTest {
+
+    // Scans we accept, with the reason
+    private static final Map<String, String> KNOWN_SCANS = Map.of(
+            "ProductRepository.findByNameContainingIgnoreCase",
+            "LIKE '%name%'; on MySQL search goes through the FULLTEXT index (searchFullText)",
+            "ProductRepository.findByCategoryContainingIgnoreCase",
+            "LIKE '%category%' over a handful of categories");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void derivedQueriesUseIndexes() throws Exception {
+        User user = new User();
+        user.setUsername("plan-user");
+        user.setPassword("x");
+        user = userRepository.save(user);
+        Product product = new Product();
+        product.setName("plan-product");
+        product.setAdmin(user);
+        product = productRepository.save(product);
+
+        Repositories repositories = new Repositories(applicationContext);
+        Map<String, List<String>> plans = new LinkedHashMap<>();
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation info = repositories.getRequiredRepositoryInformation(domainType);
+            if (!info.getRepositoryInterface().getPackageName().equals(getClass().getPackageName())) {
+                continue;
+            }
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            for (Method method : info.getQueryMethods()) {
+                if (method.isAnnotationPresent(Query.class) || method.getParameterCount() == 0) {
+                    continue; // hand-written, or findAll-style
+                }
+                String name = info.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                plans.put(name, explain(repository, method, sampleArguments(method, user, product)));
+            }
+        }
+
+        assertFalse(plans.isEmpty(), "no derived queries found");
+        List<String> failures = new ArrayList<>();
+        plans.forEach((name, explained) -> {
+            for (String plan : explained) {
+                if (plan.contains("tableScan") && !KNOWN_SCANS.containsKey(name)) {
+                    failures.add(name + ":\n" + plan);
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), "Full table scans:\n" + String.join("\n\n", failures));
+    }
+
+    // Invokes the query method and EXPLAINs each statement it sent to H2
+    private List<String> explain(Object repository, Method method, Object[] args) throws Exception {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        method.invoke(repository, args);
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT sql_statement FROM information_schema.query_statistics " +
+                        "WHERE LOWER(sql_statement) LIKE 'select%' AND sql_statement NOT LIKE '%query_statistics%'",
+                String.class);
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            plans.add(jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+                for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                    ps.setObject(i, 1);
+                }
+            }, rs -> rs.next() ? rs.getString(1) : ""));
+        }
+        return plans;
+    }
+
+    private static Object[] sampleArguments(Method method, User user, Product product) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == Long.class || type == long.class) args[i] = 1L;
+            else if (type == String.class) args[i] = "a";
+            else if (Collection.class.isAssignableFrom(type)) args[i] = List.of(1L);
+            else if (type == Pageable.class) args[i] = PageRequest.of(0, 10);
+            else if (type == LocalDateTime.class) args[i] = LocalDateTime.now().minusYears(1);
+            else if (type == User.class) args[i] = user;
+            else if (type == Product.class) args[i] = product;
+            else throw new IllegalStateException("No sample value for " + type + " in " + method);
+        }
+        return args;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.BGF.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Checks range filters, category bitsets, sort order and paging of the
+// columnar catalog snapshot against a small hand-made catalog.
+class ProductColumnsTest {
+
+    private final ProductColumns columns = new ProductColumns(List.of(
+            new Object[]{4L, "Match Ball", null, 2500.0, 12, "cricket", null},
+            new Object[]{1L, "Pro Bat", null, 18000.0, 3, "cricket", null},
+            new Object[]{3L, "Gym Mat", null, 2500.0, 0, "gym", null},
+            new Object[]{2L, "Elite Gloves", null, null, 7, "Cricket", null},
+            new Object[]{5L, "Tennis Racket", null, 9000.0, null, "tennis", null}));
+
+    @Test
+    void filtersByCategoryAndPriceRangeInclusive() {
+        ProductColumns.Page page = columns.query(
+                new ProductQuery("CRICKET", 2500.0, 18000.0, null, null, ProductQuery.Sort.PRICE, false), 0, 10);
+
+        assertEquals(2, page.total());
+        assertEquals(List.of(4L, 1L), ids(page));
+    }
+
+    @Test
+    void sortsDescendingWithMissingValuesLast() {
+        ProductColumns.Page page = columns.query(
+                new ProductQuery(null, null, null, null, null, ProductQuery.Sort.PRICE, true), 0, 10);
+
+        // Equal prices keep id order; the product without a price comes last
+        assertEquals(List.of(1L, 5L, 4L, 3L, 2L), ids(page));
+    }
+
+    @Test
+    void stockRangeAndPaging() {
+        ProductQuery inStock = new ProductQuery(null, null, null, 1, null, ProductQuery.Sort.STOCK, false);
+
+        assertEquals(List.of(1L, 2L), ids(columns.query(inStock, 0, 2)));
+        assertEquals(List.of(4L), ids(columns.query(inStock, 1, 2)));
+        assertEquals(3, columns.query(inStock, 5, 2).total());
+        assertEquals(List.of(), ids(columns.query(inStock, 5, 2)));
+        assertEquals(List.of(), ids(columns.query(inStock, Integer.MAX_VALUE, 2)), "no wrap-around to page 0");
+    }
+
+    @Test
+    void defaultOrderIsIdAndNameSortIgnoresCase() {
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(columns.query(
+                new ProductQuery(null, null, null, null, null, ProductQuery.Sort.ID, true), 0, 10)));
+        assertEquals(List.of(2L, 3L, 4L, 1L, 5L), ids(columns.query(
+                new ProductQuery(null, null, null, null, null, ProductQuery.Sort.NAME, false), 0, 10)));
+    }
+
+    private static List<Long> ids(ProductColumns.Page page) {
+        return page.items().stream().map(ProductSummary::id).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.BGF.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Lookups in a small hand-built trie: word starts, top-K per node, ties,
+// duplicates through two words, and prefixes longer than the stored keys.
+class SuggestIndexTest {
+
+    private static final Suggestion PRO_BAT = product(1, "Pro Bat", 50);
+    private static final Suggestion BAT_BAG = product(2, "Bat Bag", 20);
+    private static final Suggestion BALL = product(3, "Match  Ball", 20);
+    private static final Suggestion BANDS = product(4, "Resistance Bands", 5);
+    private static final Suggestion CRICKET = new Suggestion("Cricket", Suggestion.CATEGORY, null, 70);
+    private static final Suggestion KAHUNA = product(5, "Kookaburra Kahuna Pro English Willow Bat", 9);
+    private static final Suggestion KAHUNA_JUNIOR = product(6, "Kookaburra Kahuna Pro English Willow Junior", 30);
+
+    private final SuggestIndex index = new SuggestIndex.Builder(3, 32)
+            .add(PRO_BAT).add(BAT_BAG).add(BALL).add(BANDS).add(CRICKET).add(KAHUNA).add(KAHUNA_JUNIOR)
+            .build();
+
+    @Test
+    void findsEveryWordStartHeaviestFirst() {
+        // "ba" starts a word in five entries; the node keeps the best three, ties by text
+        assertEquals(List.of(PRO_BAT, BAT_BAG, BALL), index.suggest("ba", 10));
+        assertEquals(List.of(PRO_BAT, BAT_BAG, KAHUNA), index.suggest("BAT", 10), "case and word position don't matter");
+        assertEquals(List.of(BALL), index.suggest("match ball", 10), "runs of spaces are one");
+        assertEquals(List.of(CRICKET), index.suggest("cri", 10));
+        assertEquals(List.of(PRO_BAT), index.suggest("ba", 1));
+        assertEquals(List.of(), index.suggest("ist", 10), "not the start of a word");
+        assertEquals(List.of(), index.suggest("  ", 10));
+    }
+
+    @Test
+    void listsAnEntryOnceWhenTwoOfItsWordsMatch() {
+        Suggestion batBat = product(7, "Bat Bat", 1);
+        SuggestIndex twice = new SuggestIndex.Builder(5, 32).add(batBat).add(BANDS).build();
+
+        assertEquals(List.of(BANDS, batBat), twice.suggest("b", 5));
+    }
+
+    @Test
+    void prefixesLongerThanTheKeysStillMatch() {
+        String typed = "kookaburra kahuna pro english willow";
+        assertEquals(36, typed.length());
+        assertEquals(List.of(KAHUNA_JUNIOR, KAHUNA), index.suggest(typed, 10));
+        assertEquals(List.of(KAHUNA), index.suggest(typed + " b", 10), "checked against the whole prefix");
+        assertEquals(List.of(KAHUNA_JUNIOR), index.suggest("kahuna pro english willow junior", 10));
+        assertEquals(List.of(), index.suggest(typed + " x", 10));
+    }
+
+    private static Suggestion product(long id, String name, long weight) {
+        return new Suggestion(name, Suggestion.PRODUCT, id, weight);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.BGF.startup;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.OrderRepository;
+import com.example.BGF.repository.ProductRepository;
+import com.example.BGF.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The warm-up drives the real server and leaves no trace in the data
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"bgf.warmup.rounds=8", "bgf.warmup.concurrency=2"})
+class WarmUpTest {
+
+    @Autowired
+    private WarmUp warmUp;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void readyAfterWarmUpWithOrdersRolledBack() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+
+        User user = new User();
+        user.setUsername("warm-up-user");
+        user.setPassword("x");
+        user.setRole("USER");
+        userRepository.save(user);
+        Product product = new Product();
+        product.setName("Warm-up ball");
+        product.setPrice(10.0);
+        product.setStock(5);
+        product = productRepository.save(product);
+        long ordersBefore = orderRepository.count();
+
+        assertTrue(warmUp.run());
+
+        assertEquals(ordersBefore, orderRepository.count());
+        assertEquals(5, productRepository.findById(product.getId()).orElseThrow().getStock());
+        assertTrue(meterRegistry.get("bgf.warmup.duration").gauge().value() > 0);
+        assertNotNull(meterRegistry.find("bgf.warmup.latency")
+                .tags("step", "GET /products/all", "phase", "warm").gauge());
+    }
+}
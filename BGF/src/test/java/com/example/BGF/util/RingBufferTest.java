@@ -0,0 +1,91 @@
+package com.example.BGF.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Single-threaded semantics first, then a multi-producer stress run
+class RingBufferTest {
+
+    @Test
+    void boundedFifo() {
+        RingBuffer<Integer> ring = new RingBuffer<>(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4), "full ring must refuse");
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4), "freed slot is reused");
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, ring.drainTo(drained, 10));
+        assertEquals(List.of(1, 2, 3, 4), drained);
+        assertNull(ring.poll());
+    }
+
+    // Producers racing each other and the consumer: every item comes out
+    // exactly once, and each producer's items come out in its own order
+    @Test
+    void concurrentProducersLoseNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        RingBuffer<Integer> ring = new RingBuffer<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    // yield rather than spin: the build box may have a single core
+                    while (!ring.offer(producer * perProducer + i)) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            return;
+                        }
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        BitSet seen = new BitSet(producers * perProducer);
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            Integer item = ring.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            assertFalse(seen.get(item), "duplicate " + item);
+            seen.set(item);
+            int producer = item / perProducer;
+            assertTrue(item % perProducer > last[producer], "out of order within producer " + producer);
+            last[producer] = item % perProducer;
+            received++;
+        }
+        pool.shutdownNow();
+        assertEquals(producers * perProducer, received);
+        assertNull(ring.poll());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.BGF.web;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// CBOR and Smile carry exactly the JSON document, only smaller; JSON stays the default
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatsTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void seed() {
+        Product product = new Product();
+        product.setName("Binary bat");
+        product.setDescription("English willow, short handle");
+        product.setCategory("cricket");
+        product.setPrice(12500.0);
+        product.setStock(7);
+        productId = productRepository.save(product).getId();
+    }
+
+    @Test
+    void jsonIsTheDefault() throws Exception {
+        mockMvc.perform(get("/products/all"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/products/all").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void binaryFormatsMatchJson() throws Exception {
+        for (String path : new String[]{"/products/all", "/products/" + productId}) {
+            byte[] json = fetch(path, MediaType.APPLICATION_JSON);
+            JsonNode expected = new ObjectMapper().readTree(json);
+            byte[] cbor = fetch(path, CBOR);
+            byte[] smile = fetch(path, SMILE);
+
+            assertEquals(expected, new ObjectMapper(new CBORFactory()).readTree(cbor), path);
+            assertEquals(expected, new ObjectMapper(new SmileFactory()).readTree(smile), path);
+            assertTrue(cbor.length < json.length, path);
+            assertTrue(smile.length < json.length, path);
+        }
+    }
+
+    private byte[] fetch(String path, MediaType type) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).accept(type))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(type))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray();
+    }
+}
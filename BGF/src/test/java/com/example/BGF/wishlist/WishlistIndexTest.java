@@ -0,0 +1,160 @@
+package com.example.BGF.wishlist;
+
+import com.example.BGF.models.Product;
+import com.example.BGF.models.User;
+import com.example.BGF.repository.UserRepository;
+import com.example.BGF.service.ProductService;
+import com.example.BGF.service.WishlistService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"bgf.outbox.poll-interval=200ms", "bgf.wishlist.max-items=3"})
+class WishlistIndexTest {
+
+    @Autowired
+    private WishlistService wishlistService;
+
+    @Autowired
+    private WishlistIndex wishlistIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void packsSortedIdsIntoAFewBytesEach() {
+        int[] ids = {3, 17, 18, 250, 70_000, Integer.MAX_VALUE};
+        byte[] packed = SortedIds.pack(ids);
+        assertArrayEquals(ids, SortedIds.unpack(packed));
+        assertEquals(1 + 1 + 1 + 2 + 3 + 5, packed.length, "bytes per gap, not per id");
+
+        int[] one = SortedIds.add(SortedIds.EMPTY, 5);
+        assertArrayEquals(new int[]{2, 5}, SortedIds.add(one, 2));
+        assertEquals(one, SortedIds.add(one, 5), "unchanged set is the same array");
+        assertArrayEquals(SortedIds.EMPTY, SortedIds.remove(one, 5));
+    }
+
+    @Test
+    void countsAndTheReverseIndexFollowEveryChange() {
+        Product ball = productService.addProduct(product("Wish ball"), null);
+        Product bat = productService.addProduct(product("Wish bat"), null);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(user());
+            wishlistService.add(users.get(i), ball.getId());
+        }
+        assertEquals(1, wishlistService.add(users.get(0), bat.getId()));
+        assertEquals(5, wishlistService.add(users.get(0), ball.getId()), "adding twice counts once");
+        assertEquals(Map.of(ball.getId(), 5, bat.getId(), 1), wishlistService.getCounts(List.of(ball.getId(), bat.getId())));
+
+        WishlistedBy first = wishlistService.getWishlistedBy(ball.getId(), null, 3);
+        assertEquals(5, first.total());
+        assertEquals(users.subList(0, 3).stream().map(User::getId).toList(), first.userIds());
+        WishlistedBy second = wishlistService.getWishlistedBy(ball.getId(), first.next(), 3);
+        assertEquals(users.subList(3, 5).stream().map(User::getId).toList(), second.userIds());
+        assertNull(second.next());
+
+        assertEquals(4, wishlistService.remove(users.get(4), ball.getId()));
+        assertEquals(4, wishlistService.getWishlistedBy(ball.getId(), null, 10).total());
+        assertEquals(ball.getId(), wishlistIndex.mostWishlisted().get(0).getKey());
+    }
+
+    @Test
+    void wishlistsAreWrittenThroughPackedAndLimited() {
+        User user = user();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            products.add(productService.addProduct(product("Wish item " + i), null));
+        }
+        for (int i = 0; i < 3; i++) {
+            wishlistService.add(user, products.get(i).getId());
+        }
+        assertThrows(IllegalArgumentException.class, () -> wishlistService.add(user, products.get(3).getId()));
+
+        byte[] row = jdbcTemplate.queryForObject("SELECT product_ids FROM wishlists WHERE user_id = ?",
+                byte[].class, user.getId());
+        assertEquals(products.subList(0, 3).stream().map(Product::getId).toList(),
+                Arrays.stream(SortedIds.unpack(row)).mapToObj(id -> (long) id).toList());
+        assertTrue(row.length < 3 * SortedIds.MAX_BYTES_PER_ID);
+
+        productService.deleteProduct(products.get(1).getId());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (wishlistIndex.productIds(user.getId()).size() != 2) {
+            assertTrue(System.currentTimeMillis() < deadline, "deleted product still wishlisted");
+            sleep();
+        }
+        assertEquals(0, wishlistIndex.count(products.get(1).getId()));
+
+        wishlistService.remove(user, products.get(0).getId());
+        wishlistService.remove(user, products.get(2).getId());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wishlists WHERE user_id = ?",
+                Integer.class, user.getId()));
+    }
+
+    @Test
+    void changesBeforeTheRebuildKeepTheStoredWishlistCounted() {
+        Product ball = productService.addProduct(product("Rebuild ball"), null);
+        Product bat = productService.addProduct(product("Rebuild bat"), null);
+        Product glove = productService.addProduct(product("Rebuild glove"), null);
+        User keeps = user();
+        User leaves = user();
+        wishlistService.add(keeps, ball.getId());
+        wishlistService.add(keeps, bat.getId());
+        wishlistService.add(leaves, ball.getId());
+
+        // As at startup: rows stored, nothing indexed, rebuild not run yet
+        WishlistIndex starting = new WishlistIndex(jdbcTemplate, new SimpleMeterRegistry(), 4);
+        assertTrue(starting.add(keeps.getId(), glove.getId(), 3));
+        assertTrue(starting.remove(leaves.getId(), ball.getId()));
+        assertEquals(1, starting.count(ball.getId()));
+        starting.rebuild();
+
+        assertEquals(List.of(ball.getId(), bat.getId(), glove.getId()), starting.productIds(keeps.getId()));
+        assertEquals(List.of(), starting.productIds(leaves.getId()));
+        assertEquals(Map.of(ball.getId(), 1, bat.getId(), 1, glove.getId(), 1),
+                starting.counts(List.of(ball.getId(), bat.getId(), glove.getId())));
+        assertEquals(List.of(keeps.getId()), starting.wishlistedBy(ball.getId(), null, 10).userIds());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setUsername("wish-user-" + System.nanoTime());
+        user.setPassword("x");
+        return userRepository.save(user);
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(10.0);
+        product.setStock(0);
+        return product;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
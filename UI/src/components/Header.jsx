@@ -4,15 +4,18 @@ import { ShoppingCartIcon, MenuIcon, XIcon, SearchIcon, UserIcon, HeartIcon, Che
 import { useCart } from '../context/CartContext';
 import { useAuth } from '../context/AuthContext';
 import { useWishlist } from '../context/WishlistContext';
+import { productService } from '../services/productService';
 
 const Header = () => {
   const [isMenuOpen, setIsMenuOpen] = useState(false);
   const [isUserMenuOpen, setIsUserMenuOpen] = useState(false);
   const [searchQuery, setSearchQuery] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
   const { totalItems } = useCart();
   const { wishlistCount } = useWishlist();
   const { user, isAuthenticated, logout } = useAuth();
   const userMenuRef = useRef(null);
+  const searchRef = useRef(null);
   const navigate = useNavigate();
 
   // Close dropdowns when clicking outside
@@ -21,6 +24,9 @@ const Header = () => {
       if (userMenuRef.current && !userMenuRef.current.contains(event.target)) {
         setIsUserMenuOpen(false);
       }
+      if (searchRef.current && !searchRef.current.contains(event.target)) {
+        setSuggestions([]);
+      }
     };
 
     document.addEventListener('mousedown', handleClickOutside);
@@ -29,6 +35,32 @@ const Header = () => {
     };
   }, []);
 
+  // Fetch suggestions once typing pauses; ignore answers to older prefixes
+  useEffect(() => {
+    const prefix = searchQuery.trim();
+    if (!prefix) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      const results = await productService.suggest(prefix);
+      if (!cancelled) setSuggestions(results);
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchQuery]);
+
+  const handleSuggestionClick = (suggestion) => {
+    navigate(suggestion.type === 'category'
+      ? `/categories/${encodeURIComponent(suggestion.text)}`
+      : `/product/${suggestion.productId}`);
+    setSearchQuery('');
+    setSuggestions([]);
+  };
+
   const handleLogout = () => {
     logout();
     setIsUserMenuOpen(false);
@@ -201,7 +233,7 @@ const Header = () => {
           {/* Search, Cart, and Login */}
           <div className="hidden md:flex items-center space-x-4">
             {/* Search Input */}
-            <form onSubmit={handleSearch} className="relative">
+            <form onSubmit={handleSearch} className="relative" ref={searchRef}>
               <div className="relative border rounded-full px-3 py-1 flex items-center hover:border-blue-500 transition-colors">
                 <SearchIcon className="h-4 w-4 text-gray-500 mr-2" />
                 <input
@@ -212,6 +244,24 @@ const Header = () => {
                   onChange={(e) => setSearchQuery(e.target.value)}
                 />
               </div>
+              {suggestions.length > 0 && (
+                <ul className="absolute left-0 mt-2 w-64 bg-white border rounded-lg shadow-lg z-50 py-1">
+                  {suggestions.map((suggestion) => (
+                    <li key={`${suggestion.type}-${suggestion.productId ?? suggestion.text}`}>
+                      <button
+                        type="button"
+                        onClick={() => handleSuggestionClick(suggestion)}
+                        className="w-full flex items-center justify-between px-4 py-2 text-sm text-gray-700 hover:bg-gray-100 text-left"
+                      >
+                        <span className="truncate">{suggestion.text}</span>
+                        {suggestion.type === 'category' && (
+                          <span className="ml-2 text-xs text-gray-400">Category</span>
+                        )}
+                      </button>
+                    </li>
+                  ))}
+                </ul>
+              )}
             </form>
 
             {/* Wishlist Icon */}
@@ -3,6 +3,7 @@ import { FileText, HeartIcon } from 'lucide-react';
 import { useNavigate } from 'react-router-dom';
 import { useCart } from '../context/CartContext';
 import { useWishlist } from '../context/WishlistContext';
+import { imageSrc, imageSrcSet } from '../utils/images';
 
 const ProductCard = ({
   id,
@@ -104,7 +105,8 @@ const ProductCard = ({
       'div',
       { className: 'h-48 overflow-hidden relative' },
       React.createElement('img', {
-        src: image,
+        src: imageSrc(image, 320),
+        srcSet: imageSrcSet(image, 320),
         alt: name,
         className: 'w-full h-full object-cover'
       })
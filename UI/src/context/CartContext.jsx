@@ -1,4 +1,6 @@
 import React, { useEffect, useState, createContext, useContext } from 'react';
+import api from '../utils/api';
+import { useAuth } from './AuthContext';
 
 const CartContext = createContext(undefined);
 
@@ -7,6 +9,41 @@ export const CartProvider = ({ children }) => {
   const [totalItems, setTotalItems] = useState(0);
   const [totalPrice, setTotalPrice] = useState(0);
   const [isInitialized, setIsInitialized] = useState(false);
+  // Signed-in users' carts live on the server (/api/cart), which re-checks
+  // prices and stock; localStorage only keeps a copy for first paint
+  const { isAuthenticated } = useAuth();
+  const [cartReady, setCartReady] = useState(true);
+
+  // Server view -> cart items; problem is PRICE_CHANGED, INSUFFICIENT_STOCK,
+  // UNAVAILABLE or null
+  const applyServerCart = (view) => {
+    setCart(prevCart => view.items.map(serverItem => {
+      const local = prevCart.find(item => item.id === serverItem.productId) || {};
+      return {
+        ...local,
+        id: serverItem.productId,
+        name: serverItem.name || local.name || 'Unknown Product',
+        price: Number(serverItem.unitPrice) || 0,
+        quantity: serverItem.quantity,
+        image: serverItem.imageUrl || local.image || '',
+        stock: serverItem.stock,
+        previousPrice: serverItem.previousPrice,
+        problem: serverItem.problem
+      };
+    }));
+    setCartReady(view.ready);
+    return view;
+  };
+
+  const syncItem = async (id, quantity) => {
+    if (!isAuthenticated) return;
+    try {
+      const response = await api.put(`/api/cart/items/${id}`, { quantity });
+      applyServerCart(response.data);
+    } catch (error) {
+      console.error('Failed to update the server cart', error);
+    }
+  };
 
   // Load cart from localStorage on initial render
   useEffect(() => {
@@ -37,6 +74,26 @@ export const CartProvider = ({ children }) => {
     }
   }, []);
 
+  // After sign-in the server cart wins; an empty one is filled from this browser's cart
+  useEffect(() => {
+    if (!isInitialized || !isAuthenticated) return;
+    const loadServerCart = async () => {
+      try {
+        let view = (await api.get('/api/cart')).data;
+        if (view.items.length === 0 && cart.length > 0) {
+          for (const item of cart) {
+            view = (await api.put(`/api/cart/items/${item.id}`, { quantity: item.quantity })).data;
+          }
+        }
+        applyServerCart(view);
+      } catch (error) {
+        console.error('Failed to load the server cart', error);
+      }
+    };
+    loadServerCart();
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [isInitialized, isAuthenticated]);
+
   // Save cart to localStorage and recalculate totals whenever cart changes
   useEffect(() => {
     if (!isInitialized) return;
@@ -69,6 +126,9 @@ export const CartProvider = ({ children }) => {
       return;
     }
 
+    const existing = cart.find(cartItem => cartItem.id === item.id);
+    syncItem(item.id, (existing?.quantity || 0) + (Number(item.quantity) || 1));
+
     setCart(prevCart => {
       const existingItem = prevCart.find(cartItem => cartItem.id === item.id);
       if (existingItem) {
@@ -100,6 +160,7 @@ export const CartProvider = ({ children }) => {
       return;
     }
     setCart(prevCart => prevCart.filter(item => item.id !== id));
+    syncItem(id, 0);
   };
 
   const updateQuantity = (id, quantity) => {
@@ -124,10 +185,15 @@ export const CartProvider = ({ children }) => {
         item.id === id ? { ...item, quantity: numQuantity } : item
       )
     );
+    syncItem(id, numQuantity);
   };
 
   const clearCart = () => {
     setCart([]);
+    setCartReady(true);
+    if (isAuthenticated) {
+      api.delete('/api/cart').catch(error => console.error('Failed to clear the server cart', error));
+    }
     try {
       localStorage.removeItem('cart');
     } catch (error) {
@@ -135,6 +201,22 @@ export const CartProvider = ({ children }) => {
     }
   };
 
+  // Orders the whole server cart in one go. On 409 the cart is replaced by
+  // the re-checked one and the error is rethrown for the page to show.
+  const checkoutCart = async ({ shippingAddress, paymentMethod, notes }) => {
+    try {
+      const response = await api.post('/api/cart/checkout', { shippingAddress, paymentMethod, notes });
+      setCart([]);
+      setCartReady(true);
+      return response.data.orders;
+    } catch (error) {
+      if (error.response?.status === 409 && error.response.data?.cart) {
+        applyServerCart(error.response.data.cart);
+      }
+      throw new Error(error.response?.data?.error || 'Failed to create order');
+    }
+  };
+
   // Provide loading state until cart is initialized
   if (!isInitialized) {
     return React.createElement(
@@ -155,7 +237,9 @@ export const CartProvider = ({ children }) => {
         clearCart,
         totalItems,
         totalPrice,
-        isInitialized
+        isInitialized,
+        cartReady,
+        checkoutCart
       }
     },
     children
@@ -1,4 +1,6 @@
-import React, { createContext, useContext, useState } from 'react';
+import React, { createContext, useContext, useEffect, useState } from 'react';
+import api from '../utils/api';
+import { useAuth } from './AuthContext';
 
 const WishlistContext = createContext();
 
@@ -10,8 +12,51 @@ export const useWishlist = () => {
   return context;
 };
 
+// Server product -> wishlist item
+const toItem = (product) => ({
+  id: product.id,
+  name: product.name,
+  price: product.price,
+  image: product.imageUrl || '',
+  category: product.category,
+  stock: product.stock
+});
+
 export const WishlistProvider = ({ children }) => {
   const [wishlistItems, setWishlistItems] = useState([]);
+  // Signed-in users' wishlists are kept on the server (/api/wishlist), which
+  // also counts how many users want each product
+  const { isAuthenticated } = useAuth();
+
+  // After sign-in the server wishlist is merged with anything added before
+  useEffect(() => {
+    if (!isAuthenticated) return;
+    const loadServerWishlist = async () => {
+      try {
+        const serverIds = new Set((await api.get('/api/wishlist')).data.map(product => product.id));
+        for (const item of wishlistItems) {
+          if (!serverIds.has(item.id)) {
+            await api.put(`/api/wishlist/${item.id}`);
+          }
+        }
+        const response = await api.get('/api/wishlist');
+        setWishlistItems(response.data.map(toItem));
+      } catch (error) {
+        console.error('Failed to load the server wishlist', error);
+      }
+    };
+    loadServerWishlist();
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [isAuthenticated]);
+
+  const sync = async (request) => {
+    if (!isAuthenticated) return;
+    try {
+      await request();
+    } catch (error) {
+      console.error('Failed to update the server wishlist', error);
+    }
+  };
 
   const addToWishlist = (product) => {
     setWishlistItems(prev => {
@@ -21,10 +66,12 @@ export const WishlistProvider = ({ children }) => {
       }
       return [...prev, { ...product }];
     });
+    sync(() => api.put(`/api/wishlist/${product.id}`));
   };
 
   const removeFromWishlist = (productId) => {
     setWishlistItems(prev => prev.filter(item => item.id !== productId));
+    sync(() => api.delete(`/api/wishlist/${productId}`));
   };
 
   const isInWishlist = (productId) => {
@@ -32,7 +79,16 @@ export const WishlistProvider = ({ children }) => {
   };
 
   const clearWishlist = () => {
+    const ids = wishlistItems.map(item => item.id);
     setWishlistItems([]);
+    sync(() => Promise.all(ids.map(id => api.delete(`/api/wishlist/${id}`))));
+  };
+
+  // How many users wishlisted each product: { [productId]: count }
+  const getWishlistCounts = async (productIds) => {
+    if (productIds.length === 0) return {};
+    const response = await api.get('/api/wishlist/counts', { params: { productIds: productIds.join(',') } });
+    return response.data;
   };
 
   const value = {
@@ -41,7 +97,8 @@ export const WishlistProvider = ({ children }) => {
     removeFromWishlist,
     isInWishlist,
     wishlistCount: wishlistItems.length,
-    clearWishlist
+    clearWishlist,
+    getWishlistCounts
   };
 
   return React.createElement(
@@ -49,4 +106,4 @@ export const WishlistProvider = ({ children }) => {
     { value },
     children
   );
-};
\ No newline at end of file
+};
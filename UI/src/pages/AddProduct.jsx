@@ -12,6 +12,7 @@ const AddProduct = () => {
     imageUrl: "",
   });
 
+  const [imageFile, setImageFile] = useState(null);
   const [message, setMessage] = useState("");
   const [isLoading, setIsLoading] = useState(false);
   const navigate = useNavigate();
@@ -50,6 +51,17 @@ const AddProduct = () => {
         }
       );
 
+      // An uploaded file replaces the URL with a stored copy and thumbnails
+      if (imageFile) {
+        const form = new FormData();
+        form.append("file", imageFile);
+        await axios.post(
+          `http://localhost:8082/products/admin/${response.data.id}/image`,
+          form,
+          { headers: { Authorization: `Bearer ${token}` } }
+        );
+      }
+
       setMessage("✅ Product added successfully!");
       
       // Reset form
@@ -61,6 +73,7 @@ const AddProduct = () => {
         category: "",
         imageUrl: "",
       });
+      setImageFile(null);
 
       console.log("Product added:", response.data);
       
@@ -184,9 +197,15 @@ const AddProduct = () => {
                     value={product.imageUrl}
                     onChange={handleChange}
                     placeholder="https://example.com/image.jpg"
-                    required
+                    required={!imageFile}
                     className="w-full p-4 border border-gray-300 rounded-xl focus:ring-2 focus:ring-blue-500 focus:border-transparent transition-all"
                   />
+                  <input
+                    type="file"
+                    accept="image/jpeg,image/png,image/gif,image/bmp"
+                    onChange={(e) => setImageFile(e.target.files[0] || null)}
+                    className="w-full text-sm text-gray-600"
+                  />
                 </div>
 
                 <button
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 import { useNavigate } from 'react-router-dom';
+import { subscribeToLowStock } from '../utils/inventoryAlerts';
 
 const AdminDashboard = () => {
   const [activeTab, setActiveTab] = useState('dashboard');
@@ -9,6 +10,7 @@ const AdminDashboard = () => {
   const [reviews, setReviews] = useState([]);
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(false);
+  const [lowStock, setLowStock] = useState([]);
   const [stats, setStats] = useState({
     totalOrders: 0,
     totalProducts: 0,
@@ -76,6 +78,33 @@ const AdminDashboard = () => {
     fetchData();
   }, []);
 
+  // Low-stock alerts pushed by the server; RESOLVED removes the product
+  useEffect(() => {
+    const token = getAuthToken();
+    if (!token) return undefined;
+
+    return subscribeToLowStock(token, {
+      onSnapshot: (alerts) => setLowStock(alerts),
+      onAlert: (alert) => setLowStock(prev => {
+        const others = prev.filter(item => item.productId !== alert.productId);
+        return alert.level === 'RESOLVED'
+          ? others
+          : [...others, alert].sort((a, b) => a.stock - b.stock);
+      }),
+    });
+  }, []);
+
+  const handleRestock = async (productId, productName) => {
+    const quantity = parseInt(window.prompt(`Restock "${productName}" by how many units?`, '10'), 10);
+    if (!quantity || quantity <= 0) return;
+    try {
+      await api.post(`/products/admin/inventory/${productId}/restock`, { quantity });
+    } catch (error) {
+      console.error('Error restocking product:', error);
+      alert(error.response?.data?.error || 'Error restocking product.');
+    }
+  };
+
   const handleAddProduct = () => {
     navigate('/admin/add-product');
   };
@@ -245,6 +274,40 @@ const AdminDashboard = () => {
           </div>
         </div>
       </div>
+
+      {/* Low Stock Alerts */}
+      <div className="bg-white rounded-xl shadow-lg p-6">
+        <h3 className="text-lg font-semibold text-gray-800 mb-4">
+          Low Stock <span className="text-sm font-normal text-gray-500">({lowStock.length})</span>
+        </h3>
+        {lowStock.length === 0 ? (
+          <p className="text-sm text-gray-500">All products are above their stock threshold.</p>
+        ) : (
+          <div className="space-y-2">
+            {lowStock.map((item) => (
+              <div key={item.productId} className="flex items-center justify-between p-3 hover:bg-gray-50 rounded-lg">
+                <div>
+                  <p className="font-medium text-gray-900">{item.productName}</p>
+                  <p className="text-sm text-gray-500">Threshold: {item.threshold}</p>
+                </div>
+                <div className="flex items-center space-x-3">
+                  <span className={`text-xs px-2 py-1 rounded-full ${
+                    item.level === 'OUT' ? 'bg-red-100 text-red-800' : 'bg-yellow-100 text-yellow-800'
+                  }`}>
+                    {item.level === 'OUT' ? 'Out of stock' : `${item.stock} left`}
+                  </span>
+                  <button
+                    onClick={() => handleRestock(item.productId, item.productName)}
+                    className="text-sm text-blue-600 hover:text-blue-800 font-medium"
+                  >
+                    Restock
+                  </button>
+                </div>
+              </div>
+            ))}
+          </div>
+        )}
+      </div>
     </div>
   );
 
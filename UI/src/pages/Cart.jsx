@@ -3,6 +3,7 @@ import { Link, useNavigate } from 'react-router-dom';
 import { PlusIcon, MinusIcon, TrashIcon, ArrowLeftIcon, ShoppingBagIcon } from 'lucide-react';
 import { useCart } from '../context/CartContext';
 import { useAuth } from '../context/AuthContext';
+import { imageSrc } from '../utils/images';
 
 const Cart = () => {
   const {
@@ -33,7 +34,7 @@ const Cart = () => {
   // Safe image URL handling
   const getSafeImageUrl = (image) => {
     if (!image) return '/placeholder-image.jpg';
-    return image;
+    return imageSrc(image, 160);
   };
 
   if (cart.length === 0) {
@@ -99,6 +100,17 @@ const Cart = () => {
                       <p className="text-sm text-gray-500 capitalize">
                         {formatCategory(item.category)}
                       </p>
+                      {item.problem === 'PRICE_CHANGED' && (
+                        <p className="text-sm text-amber-600">
+                          Price changed from Rs {(item.previousPrice || 0).toFixed(2)}
+                        </p>
+                      )}
+                      {item.problem === 'INSUFFICIENT_STOCK' && (
+                        <p className="text-sm text-red-600">Only {item.stock} left in stock</p>
+                      )}
+                      {item.problem === 'UNAVAILABLE' && (
+                        <p className="text-sm text-red-600">No longer available</p>
+                      )}
                     </div>
                   </div>
 
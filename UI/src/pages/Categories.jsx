@@ -12,10 +12,15 @@ import {
   SparklesIcon
 } from 'lucide-react';
 
+const PAGE_SIZE = 24;
+
 const Categories = () => {
   const { category } = useParams();
   const navigate = useNavigate();
-  const [allProducts, setAllProducts] = useState([]);
+  const [products, setProducts] = useState([]);
+  const [totalProducts, setTotalProducts] = useState(0);
+  const [page, setPage] = useState(0);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [categories, setCategories] = useState([]);
   const [filteredProducts, setFilteredProducts] = useState([]);
   const [priceRange, setPriceRange] = useState([0, 300000]);
@@ -29,28 +34,18 @@ const Categories = () => {
 
   const currentCategory = categories?.find(cat => cat?.slug === category) || null;
 
-  // Fetch data from API
+  // Fetch categories from API
   useEffect(() => {
-    const fetchData = async () => {
+    const fetchCategories = async () => {
       try {
-        setLoading(true);
-        const [productsData, categoriesData] = await Promise.all([
-          productService.getAllProducts(),
-          productService.getAllCategories()
-        ]);
-
-        setAllProducts(productsData || []);
+        const categoriesData = await productService.getAllCategories();
         setCategories(categoriesData || []);
-        setError(null);
       } catch (err) {
-        setError('Failed to load products. Please try again later.');
-        console.error('Error fetching data:', err);
-      } finally {
-        setLoading(false);
+        console.error('Error fetching categories:', err);
       }
     };
 
-    fetchData();
+    fetchCategories();
   }, []);
 
   // Update selected categories when URL parameter changes
@@ -62,52 +57,74 @@ const Categories = () => {
     }
   }, [category]);
 
-  // Filter and sort products
-  useEffect(() => {
-    let filtered = allProducts || [];
+  // Category, price range and sort are applied by the server
+  const browseParams = (pageNumber) => {
+    const sortParams = {
+      'newest': { sort: 'id', direction: 'desc' },
+      'price-low': { sort: 'price', direction: 'asc' },
+      'price-high': { sort: 'price', direction: 'desc' },
+      'name': { sort: 'name', direction: 'asc' },
+    }[sortOption] || {};
+    return {
+      category: selectedCategories[0],
+      minPrice: priceRange[0],
+      maxPrice: priceRange[1],
+      ...sortParams,
+      page: pageNumber,
+      size: PAGE_SIZE,
+    };
+  };
 
-    // Filter by selected categories
-    if (selectedCategories.length > 0) {
-      filtered = filtered.filter(product => 
-        product && selectedCategories.includes(product.category)
-      );
-    }
+  // Reload the first page when filters change; slider drags are debounced
+  useEffect(() => {
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const result = await productService.browseProducts(browseParams(0));
+        if (cancelled) return;
+        setProducts(result?.items || []);
+        setTotalProducts(result?.total || 0);
+        setPage(0);
+        setError(null);
+      } catch (err) {
+        if (!cancelled) setError('Failed to load products. Please try again later.');
+      } finally {
+        if (!cancelled) setLoading(false);
+      }
+    }, 200);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [selectedCategories, priceRange, sortOption]);
 
-    // Filter by search term
-    if (searchTerm) {
-      const term = searchTerm.toLowerCase();
-      filtered = filtered.filter(
-        product =>
-          product?.name?.toLowerCase().includes(term) ||
-          product?.description?.toLowerCase().includes(term)
-      );
+  const handleLoadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const result = await productService.browseProducts(browseParams(page + 1));
+      setProducts(prev => [...prev, ...(result?.items || [])]);
+      setTotalProducts(result?.total || 0);
+      setPage(page + 1);
+    } catch (err) {
+      console.error('Error loading more products:', err);
+    } finally {
+      setLoadingMore(false);
     }
+  };
 
-    // Filter by price range
-    filtered = filtered.filter(
-      product => product?.price >= priceRange[0] && product?.price <= priceRange[1]
-    );
-
-    // Sort products
-    switch (sortOption) {
-      case 'price-low':
-        filtered = [...filtered].sort((a, b) => (a?.price || 0) - (b?.price || 0));
-        break;
-      case 'price-high':
-        filtered = [...filtered].sort((a, b) => (b?.price || 0) - (a?.price || 0));
-        break;
-      case 'name':
-        filtered = [...filtered].sort((a, b) => (a?.name || '').localeCompare(b?.name || ''));
-        break;
-      case 'newest':
-        filtered = [...filtered].sort((a, b) => new Date(b?.createdAt || 0) - new Date(a?.createdAt || 0));
-        break;
-      default:
-        break;
+  // Search term only narrows the pages already loaded
+  useEffect(() => {
+    if (!searchTerm) {
+      setFilteredProducts(products);
+      return;
     }
-
-    setFilteredProducts(filtered);
-  }, [allProducts, selectedCategories, searchTerm, priceRange, sortOption]);
+    const term = searchTerm.toLowerCase();
+    setFilteredProducts(products.filter(
+      product =>
+        product?.name?.toLowerCase().includes(term) ||
+        product?.description?.toLowerCase().includes(term)
+    ));
+  }, [products, searchTerm]);
 
   const handleCategoryChange = (categorySlug) => {
     if (selectedCategories.includes(categorySlug)) {
@@ -278,7 +295,7 @@ const Categories = () => {
           <div className="flex flex-col sm:flex-row items-center justify-between mt-6 pt-6 border-t border-gray-200/60">
             <div className="flex items-center gap-4 mb-4 sm:mb-0">
               <span className="text-lg font-semibold text-gray-900">
-                {filteredProducts.length} {filteredProducts.length === 1 ? 'Product' : 'Products'}
+                {searchTerm ? filteredProducts.length : totalProducts} {(searchTerm ? filteredProducts.length : totalProducts) === 1 ? 'Product' : 'Products'}
               </span>
               {(selectedCategories.length > 0 || searchTerm || priceRange[0] > 0 || priceRange[1] < 300000) && (
                 <button
@@ -313,6 +330,7 @@ const Categories = () => {
         {/* Products Grid */}
         <div className="flex-1">
           {filteredProducts.length > 0 ? (
+            <>
             <div className={`
               ${viewMode === 'grid' 
                 ? 'grid grid-cols-1 md:grid-cols-2 xl:grid-cols-3 2xl:grid-cols-4 gap-8' 
@@ -333,6 +351,18 @@ const Categories = () => {
                 />
               ))}
             </div>
+            {products.length < totalProducts && (
+              <div className="flex justify-center mt-10">
+                <button
+                  onClick={handleLoadMore}
+                  disabled={loadingMore}
+                  className="px-8 py-4 bg-white border border-gray-300/80 rounded-2xl text-lg font-semibold text-gray-700 hover:border-blue-500 hover:text-blue-600 transition-all duration-300 shadow-sm disabled:opacity-50"
+                >
+                  {loadingMore ? 'Loading...' : 'Load More'}
+                </button>
+              </div>
+            )}
+            </>
           ) : (
             <div className="text-center py-20 bg-white/80 backdrop-blur-lg rounded-3xl shadow-xl border border-gray-200/60">
               <div className="w-32 h-32 bg-gradient-to-br from-blue-100 to-purple-100 rounded-full flex items-center justify-center mx-auto mb-8 shadow-2xl">
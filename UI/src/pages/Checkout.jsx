@@ -13,6 +13,7 @@ import {
 } from 'lucide-react';
 import { useCart } from '../context/CartContext';
 import { useAuth } from '../context/AuthContext';
+import { imageSrc } from '../utils/images';
 
 /**
  * @typedef {'card' | 'bank_slip' | 'cash_on_delivery'} PaymentMethod
@@ -37,8 +38,8 @@ import { useAuth } from '../context/AuthContext';
  */
 
 const Checkout = () => {
-  const { user, isAuthenticated, token } = useAuth();
-  const { cart, totalPrice, clearCart } = useCart();
+  const { user, isAuthenticated } = useAuth();
+  const { cart, totalPrice, clearCart, checkoutCart } = useCart();
   const navigate = useNavigate();
   const fileInputRef = useRef(null);
 
@@ -189,39 +190,6 @@ const Checkout = () => {
     }
   };
 
-  // Convert frontend status to backend format
-  const getBackendStatus = (method) => {
-    switch (method) {
-      case 'bank_slip': return 'PENDING';
-      case 'cash_on_delivery': return 'CONFIRMED';
-      default: return 'PENDING';
-    }
-  };
-
-  // API call to create order
-  const createOrderInBackend = async (orderData) => {
-    try {
-      const response = await fetch('http://localhost:8082/api/orders', {
-        method: 'POST',
-        headers: {
-          'Content-Type': 'application/json',
-          'Authorization': `Bearer ${token}`
-        },
-        body: JSON.stringify(orderData)
-      });
-
-      if (!response.ok) {
-        const errorData = await response.json();
-        throw new Error(errorData.message || 'Failed to create order');
-      }
-
-      return await response.json();
-    } catch (error) {
-      console.error('Error creating order:', error);
-      throw error;
-    }
-  };
-
   const handleCompleteOrder = async () => {
     if (!paymentMethod) {
       setErrors({ payment: 'Please select a payment method' });
@@ -252,25 +220,13 @@ const Checkout = () => {
     setApiError('');
 
     try {
-      // Create orders for each product in cart
-      const orderPromises = cart.map(async (item) => {
-        const orderPayload = {
-          userId: user.id, // Assuming user object has id
-          productId: item.id, // Assuming cart item has product id
-          quantity: item.quantity,
-          price: item.price, // price per item
-          totalAmount: item.price * item.quantity, // total for this item
-          shippingAddress: formData.address,
-          paymentMethod: getBackendPaymentMethod(paymentMethod),
-          notes: `Customer: ${formData.fullName}, Phone: ${formData.phoneNumber}. ${paymentMethod === 'cash_on_delivery' ? `Transport: ${transportOption}` : ''}`,
-          status: getBackendStatus(paymentMethod)
-        };
-
-        return await createOrderInBackend(orderPayload);
+      // One checkout of the server-side cart; if prices or stock changed the
+      // cart is refreshed with what changed and nothing is ordered
+      const backendOrders = await checkoutCart({
+        shippingAddress: formData.address,
+        paymentMethod: getBackendPaymentMethod(paymentMethod),
+        notes: `Customer: ${formData.fullName}, Phone: ${formData.phoneNumber}. ${paymentMethod === 'cash_on_delivery' ? `Transport: ${transportOption}` : ''}`
       });
-
-      // Wait for all orders to be created
-      const backendOrders = await Promise.all(orderPromises);
       
       // Generate frontend order ID for display
       const newOrderId = generateOrderId();
@@ -902,7 +858,7 @@ const Checkout = () => {
             <div className="max-h-64 overflow-y-auto mb-4">
               {cart.map(item => (
                 <div key={item.id} className="flex items-center py-2 border-b last:border-b-0">
-                  <img src={item.image} alt={item.name} className="w-12 h-12 object-cover rounded mr-3" />
+                  <img src={imageSrc(item.image, 160)} alt={item.name} className="w-12 h-12 object-cover rounded mr-3" />
                   <div className="flex-grow">
                     <p className="font-medium">{item.name}</p>
                     <p className="text-sm text-gray-500">Qty: {item.quantity}</p>
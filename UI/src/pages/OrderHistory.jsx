@@ -23,6 +23,7 @@ import {
   Star,
   MessageCircle
 } from 'lucide-react';
+import { subscribeToOrders } from '../utils/orderStream';
 
 const Orders = () => {
   const [orders, setOrders] = useState([]);
@@ -38,6 +39,7 @@ const Orders = () => {
   const [user, setUser] = useState(null);
   const [selectedOrder, setSelectedOrder] = useState(null);
   const [showOrderModal, setShowOrderModal] = useState(false);
+  const [reloadKey, setReloadKey] = useState(0);
 
   // Get token and user from localStorage
   const getAuthToken = () => {
@@ -100,6 +102,30 @@ const Orders = () => {
     };
 
     fetchOrders();
+  }, [reloadKey]);
+
+  // Live status updates instead of re-fetching the whole list
+  useEffect(() => {
+    const token = getAuthToken();
+    if (!token) return undefined;
+
+    return subscribeToOrders(token, {
+      onOrder: (event) => {
+        if (event.type === 'CREATED') {
+          // Placed from another tab or device: the list needs the full order
+          setReloadKey(key => key + 1);
+          return;
+        }
+        setOrders(prevOrders => prevOrders.map(order =>
+          order.id === event.orderId ? { ...order, status: event.status } : order
+        ));
+        setSelectedOrder(prev =>
+          prev && prev.id === event.orderId ? { ...prev, status: event.status } : prev
+        );
+      },
+      // Missed more events than the server keeps: reload the list once
+      onResync: () => setReloadKey(key => key + 1),
+    });
   }, []);
 
   // Apply filters and sorting
@@ -3,12 +3,15 @@ import { useParams, Link, useNavigate } from 'react-router-dom';
 import axios from 'axios';
 import { useCart } from '../context/CartContext';
 import { useAuth } from '../context/AuthContext';
+import { useWishlist } from '../context/WishlistContext';
+import { imageSrc, imageSrcSet } from '../utils/images';
 
 const ProductView = () => {
   const { id } = useParams();
   const navigate = useNavigate();
   const { addToCart } = useCart();
   const { user } = useAuth();
+  const { getWishlistCounts } = useWishlist();
   
   const [product, setProduct] = useState(null);
   const [loading, setLoading] = useState(true);
@@ -23,66 +26,42 @@ const ProductView = () => {
   });
   const [submittingReview, setSubmittingReview] = useState(false);
   const [reviewsLoading, setReviewsLoading] = useState(false);
+  const [ratingSummary, setRatingSummary] = useState(null);
+  const [relatedProducts, setRelatedProducts] = useState([]);
+  const [wishlistedBy, setWishlistedBy] = useState(0);
 
   useEffect(() => {
-    const fetchProduct = async () => {
+    getWishlistCounts([id])
+      .then(counts => setWishlistedBy(counts[id] || 0))
+      .catch(() => setWishlistedBy(0));
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [id]);
+
+  useEffect(() => {
+    // One call for the product, latest reviews, rating summary and related products
+    const fetchProductPage = async () => {
       try {
         setLoading(true);
-        const response = await axios.get(`http://localhost:8082/products/${id}`);
-        
-        if (response.data) {
-          setProduct(response.data);
-          setError(null);
-        } else {
-          setError('Product not found');
-        }
-        
-        // Fetch reviews for this product
-        await fetchReviews();
+        setReviewsLoading(true);
+        const response = await axios.get(`http://localhost:8082/products/${id}/page`);
+        const page = response.data;
+
+        setProduct(page.product);
+        setReviews(page.reviews || []);
+        setRatingSummary(page.rating);
+        setRelatedProducts(page.related || []);
+        setError(null);
       } catch (err) {
-        setError('Failed to fetch product details');
+        setError(err.response?.status === 404 ? 'Product not found' : 'Failed to fetch product details');
         console.error('Error fetching product:', err);
       } finally {
         setLoading(false);
-      }
-    };
-
-    const fetchReviews = async () => {
-      try {
-        setReviewsLoading(true);
-        const response = await axios.get(`http://localhost:8082/review`);
-        
-        // Filter reviews for this specific product
-        const productReviews = response.data.filter(review => 
-          review.product && review.product.id.toString() === id
-        );
-        setReviews(productReviews);
-      } catch (err) {
-        console.error('Error fetching reviews:', err);
-        // Fallback to mock data if API fails
-        setReviews([
-          {
-            id: 1,
-            user: { fullName: 'John Doe' },
-            rating: 5,
-            comment: 'Excellent product! Very satisfied with the quality.',
-            createdAt: '2024-01-15'
-          },
-          {
-            id: 2,
-            user: { fullName: 'Jane Smith' },
-            rating: 4,
-            comment: 'Good value for money. Fast delivery.',
-            createdAt: '2024-01-10'
-          }
-        ]);
-      } finally {
         setReviewsLoading(false);
       }
     };
 
     if (id) {
-      fetchProduct();
+      fetchProductPage();
     }
   }, [id]);
 
@@ -197,6 +176,7 @@ const ProductView = () => {
   };
 
   const calculateAverageRating = () => {
+    if (ratingSummary) return ratingSummary.average.toFixed(1);
     if (reviews.length === 0) return 0;
     const total = reviews.reduce((sum, review) => sum + review.rating, 0);
     return (total / reviews.length).toFixed(1);
@@ -220,17 +200,13 @@ const ProductView = () => {
     );
   };
 
-  // Function to refetch reviews
+  // Function to refetch reviews (and the rating summary) after a new review
   const fetchReviews = async () => {
     try {
       setReviewsLoading(true);
-      const response = await axios.get(`http://localhost:8082/review`);
-      
-      // Filter reviews for this specific product
-      const productReviews = response.data.filter(review => 
-        review.product && review.product.id.toString() === id
-      );
-      setReviews(productReviews);
+      const response = await axios.get(`http://localhost:8082/products/${id}/page`);
+      setReviews(response.data.reviews || []);
+      setRatingSummary(response.data.rating);
     } catch (err) {
       console.error('Error fetching reviews:', err);
       // Keep existing reviews if API call fails
@@ -283,6 +259,7 @@ const ProductView = () => {
   }
 
   const averageRating = calculateAverageRating();
+  const reviewCount = ratingSummary ? ratingSummary.count : reviews.length;
 
   return (
     <div className="min-h-screen bg-gray-50 py-8">
@@ -316,7 +293,7 @@ const ProductView = () => {
                 <img 
                   src={imageError 
                     ? "https://via.placeholder.com/500x400/FFFFFF/666666?text=No+Image+Available" 
-                    : product.imageUrl
+                    : imageSrc(product.imageUrl)
                   }
                   alt={product.name}
                   className="w-full h-auto rounded-xl shadow-md object-cover"
@@ -342,7 +319,7 @@ const ProductView = () => {
                 <div className="flex items-center">
                   {renderStarRating(Math.round(averageRating))}
                   <span className="ml-2 text-sm text-gray-600">
-                    ({reviews.length} {reviews.length === 1 ? 'review' : 'reviews'})
+                    ({reviewCount} {reviewCount === 1 ? 'review' : 'reviews'})
                   </span>
                 </div>
               </div>
@@ -360,6 +337,11 @@ const ProductView = () => {
                   }`}>
                     {product.stock > 0 ? `${product.stock} in stock` : 'Out of stock'}
                   </span>
+                  {wishlistedBy > 0 && (
+                    <span className="text-sm text-gray-500">
+                      Wishlisted by {wishlistedBy} {wishlistedBy === 1 ? 'person' : 'people'}
+                    </span>
+                  )}
                 </div>
               </div>
 
@@ -578,6 +560,31 @@ const ProductView = () => {
           )}
         </div>
 
+        {/* Related Products */}
+        {relatedProducts.length > 0 && (
+          <div className="mt-8 bg-white rounded-2xl shadow-lg p-8">
+            <h3 className="text-2xl font-bold text-gray-900 mb-6">Related Products</h3>
+            <div className="grid grid-cols-2 md:grid-cols-4 gap-6">
+              {relatedProducts.map((related) => (
+                <Link
+                  key={related.id}
+                  to={`/product/${related.id}`}
+                  className="block rounded-lg border border-gray-200 p-4 hover:shadow-md transition-shadow"
+                >
+                  <img
+                    src={imageSrc(related.imageUrl, 320)}
+                    srcSet={imageSrcSet(related.imageUrl, 320)}
+                    alt={related.name}
+                    className="w-full h-32 object-cover rounded-md mb-3"
+                  />
+                  <div className="font-semibold text-gray-900 truncate">{related.name}</div>
+                  <div className="text-gray-600 mt-1">Rs.{related.price}</div>
+                </Link>
+              ))}
+            </div>
+          </div>
+        )}
+
         {/* Additional Product Info */}
         <div className="mt-8 bg-white rounded-2xl shadow-lg p-8">
           <h3 className="text-2xl font-bold text-gray-900 mb-6">Product Details</h3>
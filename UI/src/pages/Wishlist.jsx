@@ -3,6 +3,7 @@ import { Link } from 'react-router-dom';
 import { ArrowLeft, Heart, ShoppingCart, Trash2 } from 'lucide-react';
 import { useWishlist } from '../context/WishlistContext'; // Use WishlistContext instead of AuthContext
 import { useCart } from '../context/CartContext'; // Import CartContext for adding to cart
+import { imageSrc } from '../utils/images';
 
 const Wishlist = () => {
   const { wishlistItems, removeFromWishlist, clearWishlist } = useWishlist(); // Get from WishlistContext
@@ -97,7 +98,7 @@ const Wishlist = () => {
                   className="border border-gray-200 rounded-lg overflow-hidden hover:shadow-md transition-shadow bg-white"
                 >
                   <img 
-                    src={item.image} 
+                    src={imageSrc(item.image, 320)} 
                     alt={item.name}
                     className="w-full h-48 object-cover"
                   />
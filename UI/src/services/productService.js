@@ -45,6 +45,40 @@ export const productService = {
       throw error;
     }
   },
+  // :small_blue_diamond: Get many products by ID in one request
+  // Resolves to { items: [...in the given order], missing: [ids not found] }
+  getProductsByIds: async (ids) => {
+    try {
+      const response = await api.get('/products/batch', { params: { ids: ids.join(',') } });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching products:', error);
+      throw error;
+    }
+  },
+  // :small_blue_diamond: Filtered, sorted page of products
+  // params: { category, minPrice, maxPrice, minStock, maxStock, sort: 'id'|'name'|'price'|'stock', direction: 'asc'|'desc', page, size }
+  // Resolves to { items: [...], total, page, size }
+  browseProducts: async (params) => {
+    try {
+      const response = await api.get('/products/browse', { params });
+      return response.data;
+    } catch (error) {
+      console.error('Error browsing products:', error);
+      throw error;
+    }
+  },
+  // :small_blue_diamond: Type-ahead suggestions for the search box
+  // Resolves to [{ text, type: 'product' | 'category', productId, weight }]
+  suggest: async (prefix, limit = 8) => {
+    try {
+      const response = await api.get('/products/suggest', { params: { prefix, limit } });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching suggestions:', error);
+      return [];
+    }
+  },
   // :small_blue_diamond: Update a product (admin only)
   updateProduct: async (id, productData) => {
     try {
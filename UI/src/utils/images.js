@@ -0,0 +1,15 @@
+import api from './api';
+
+// Product images uploaded to the backend are stored as "/images/<hash>.<ext>";
+// those get the API host and, for small tiles, a thumbnail width. Third-party
+// URLs are used as they are.
+export const imageSrc = (url, width) => {
+  if (!url || !url.startsWith('/images/')) return url;
+  return `${api.defaults.baseURL}${url}${width ? `?w=${width}` : ''}`;
+};
+
+// 1x and 2x thumbnails for a tile about 'width' CSS pixels wide
+export const imageSrcSet = (url, width) => {
+  if (!url || !url.startsWith('/images/')) return undefined;
+  return `${imageSrc(url, width)} 1x, ${imageSrc(url, width * 2)} 2x`;
+};
@@ -0,0 +1,13 @@
+// Subscribes to GET /products/admin/inventory/alerts/stream (admins only).
+// Every (re)connect starts with a snapshot of all current alerts, then one
+// event per change; a RESOLVED alert means the product is no longer low.
+import { subscribeToStream } from './sseStream';
+
+const STREAM_URL = 'http://localhost:8082/products/admin/inventory/alerts/stream';
+
+export function subscribeToLowStock(token, { onSnapshot, onAlert }) {
+  return subscribeToStream(STREAM_URL, token, {
+    snapshot: (alerts) => onSnapshot(alerts || []),
+    alert: (alert) => alert && onAlert(alert),
+  });
+}
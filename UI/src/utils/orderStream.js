@@ -0,0 +1,12 @@
+// Subscribes to GET /api/orders/stream (Server-Sent Events).
+// Reconnects with Last-Event-ID so missed events are replayed by the server.
+import { subscribeToStream } from './sseStream';
+
+const STREAM_URL = 'http://localhost:8082/api/orders/stream';
+
+export function subscribeToOrders(token, { onOrder, onResync }) {
+  return subscribeToStream(STREAM_URL, token, {
+    order: (event) => event && onOrder(event),
+    resync: () => onResync(),
+  });
+}
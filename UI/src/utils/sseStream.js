@@ -0,0 +1,62 @@
+// Reads a Server-Sent Events endpoint that needs an Authorization header.
+// EventSource can't send one, so this reads the stream with fetch and
+// parses the SSE frames itself. handlers maps event names to callbacks
+// taking the parsed JSON data; reconnects send Last-Event-ID.
+export function subscribeToStream(url, token, handlers) {
+  const controller = new AbortController();
+  let lastEventId = null;
+  let retryMs = 3000;
+
+  const dispatch = (frame) => {
+    let event = 'message';
+    let id = null;
+    const data = [];
+    frame.split('\n').forEach((line) => {
+      if (line.startsWith(':')) return; // heartbeat comment
+      const colon = line.indexOf(':');
+      const field = colon === -1 ? line : line.slice(0, colon);
+      const value = colon === -1 ? '' : line.slice(colon + 1).replace(/^ /, '');
+      if (field === 'event') event = value;
+      else if (field === 'data') data.push(value);
+      else if (field === 'id') id = value;
+      else if (field === 'retry' && !isNaN(Number(value))) retryMs = Number(value);
+    });
+    if (id) lastEventId = id;
+    const handler = handlers[event];
+    if (handler) handler(data.length ? JSON.parse(data.join('\n')) : null);
+  };
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers = { Authorization: `Bearer ${token}`, Accept: 'text/event-stream' };
+        if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+        const response = await fetch(url, { headers, signal: controller.signal });
+        if (response.status === 401 || response.status === 403) return;
+        if (response.ok && response.body) {
+          const reader = response.body.getReader();
+          const decoder = new TextDecoder();
+          let buffer = '';
+          for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+            let end;
+            while ((end = buffer.indexOf('\n\n')) !== -1) {
+              dispatch(buffer.slice(0, end));
+              buffer = buffer.slice(end + 2);
+            }
+          }
+        } else if (response.status === 503) {
+          retryMs = Number(response.headers.get('Retry-After') || 5) * 1000;
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryMs));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+}